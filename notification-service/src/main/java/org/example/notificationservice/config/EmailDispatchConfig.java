@@ -0,0 +1,9 @@
+package org.example.notificationservice.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({EmailDispatchProperties.class, SmtpPoolProperties.class})
+public class EmailDispatchConfig {
+}
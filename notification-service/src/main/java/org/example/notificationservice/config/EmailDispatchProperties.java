@@ -0,0 +1,18 @@
+package org.example.notificationservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "notification.email.dispatch")
+public class EmailDispatchProperties {
+    private int workers = 4;
+    private int queueCapacity = 1000;
+    // Most emails a worker sends over one SMTP connection before taking the next batch
+    private int batchSize = 50;
+    // Sent as Retry-After when the queue is full
+    private Duration retryAfter = Duration.ofSeconds(5);
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+}
@@ -1,4 +1,85 @@
 package org.example.notificationservice.config;
 
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.example.notificationservice.kafka.KeyOrderedProcessor;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaConsumerFactoryCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties({KafkaConsumerProperties.class, KafkaRetryProperties.class})
 public class KafkaConfig {
+
+    public static final String USER_EVENTS_TOPIC = "user-events";
+    public static final String BATCH_CONTAINER_FACTORY = "batchKafkaListenerContainerFactory";
+    public static final String KEY_ORDERED_CONTAINER_FACTORY = "keyOrderedKafkaListenerContainerFactory";
+    public static final String KEY_ORDERED_LISTENER_ID = "user-events-key-ordered";
+    public static final String RETRY_CONTAINER_FACTORY = "retryKafkaListenerContainerFactory";
+
+    private static final long RETRY_POLL_TIMEOUT_MS = 1000;
+
+    @Bean
+    public DefaultKafkaConsumerFactoryCustomizer consumerTuningCustomizer(KafkaConsumerProperties properties) {
+        return consumerFactory -> consumerFactory.updateConfigs(consumerConfigs(properties));
+    }
+
+    // Same settings as the default factory, but the listener gets the whole poll and offsets are committed once per poll
+    @Bean(BATCH_CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> batchKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        return factory;
+    }
+
+    // Offsets are committed by KeyOrderedProcessor, the container only hands over the polled records
+    @Bean(KEY_ORDERED_CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> keyOrderedKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory,
+            KafkaConsumerProperties properties,
+            KeyOrderedProcessor keyOrderedProcessor) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.setBatchListener(true);
+        ContainerProperties containerProperties = factory.getContainerProperties();
+        containerProperties.setAckMode(ContainerProperties.AckMode.MANUAL);
+        containerProperties.setIdleEventInterval(properties.getCommitInterval().toMillis());
+        containerProperties.setConsumerRebalanceListener(keyOrderedProcessor);
+        return factory;
+    }
+
+    // Retry listeners acknowledge themselves so a record that is not due yet can be nacked until it is.
+    // A paused consumer only notices the nack sleep is over on its next poll, hence the short poll timeout.
+    @Bean(RETRY_CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> retryKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        factory.getContainerProperties().setPollTimeout(RETRY_POLL_TIMEOUT_MS);
+        return factory;
+    }
+
+    static Map<String, Object> consumerConfigs(KafkaConsumerProperties properties) {
+        Map<String, Object> configs = new HashMap<>();
+        configs.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, properties.getMaxPollRecords());
+        configs.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, properties.getFetchMinBytes());
+        configs.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, (int) properties.getFetchMaxWait().toMillis());
+        configs.put(ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG, properties.getMaxPartitionFetchBytes());
+        configs.put(ConsumerConfig.FETCH_MAX_BYTES_CONFIG, properties.getFetchMaxBytes());
+        return configs;
+    }
 }
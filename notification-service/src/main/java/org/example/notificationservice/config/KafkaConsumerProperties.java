@@ -0,0 +1,38 @@
+package org.example.notificationservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "notification.kafka.consumer")
+public class KafkaConsumerProperties {
+    // RECORD: one listener call per event, BATCH: one call per poll,
+    // KEY_ORDERED: events handled in parallel, in order per key
+    private Mode mode = Mode.RECORD;
+
+    private int maxPollRecords = 500;
+    // The broker holds the fetch until this much data is ready or fetch-max-wait passes
+    private int fetchMinBytes = 1;
+    private Duration fetchMaxWait = Duration.ofMillis(500);
+    private int maxPartitionFetchBytes = 1024 * 1024;
+    private int fetchMaxBytes = 50 * 1024 * 1024;
+
+    // KEY_ORDERED mode
+    private int parallelism = 16;
+    // The consumer is paused while this many events are being handled
+    private int maxInFlight = 1000;
+    // How often finished offsets are committed while no new records arrive
+    private Duration commitInterval = Duration.ofSeconds(1);
+    // How long a partition being revoked waits for its events to finish before the final commit
+    private Duration revokeTimeout = Duration.ofSeconds(10);
+    // Wait before handling an event again after it failed and could not be passed to a retry topic
+    private Duration retryBackoff = Duration.ofSeconds(1);
+
+    public enum Mode {
+        RECORD,
+        BATCH,
+        KEY_ORDERED
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.notificationservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "notification.kafka.retry")
+public class KafkaRetryProperties {
+    // One retry topic per attempt, user-events-retry-1..N; after the last one events go to user-events-dlt
+    private int attempts = 3;
+    private Duration initialDelay = Duration.ofSeconds(5);
+    private double multiplier = 6.0;
+    private Duration maxDelay = Duration.ofMinutes(10);
+    private String groupId = "notification-group-retry";
+    private Duration sendTimeout = Duration.ofSeconds(10);
+
+    public Duration delay(int attempt) {
+        double millis = initialDelay.toMillis() * Math.pow(multiplier, attempt - 1);
+        return Duration.ofMillis((long) Math.min(millis, maxDelay.toMillis()));
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.notificationservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "notification.email.smtp-pool")
+public class SmtpPoolProperties {
+    private int maxSize = 4;
+    // Idle connections are closed after this, before the server drops them on its own
+    private Duration idleTimeout = Duration.ofSeconds(30);
+    private Duration maxLifetime = Duration.ofMinutes(10);
+    // A connection idle for longer is checked with NOOP before it is handed out again
+    private Duration validateAfter = Duration.ofSeconds(2);
+}
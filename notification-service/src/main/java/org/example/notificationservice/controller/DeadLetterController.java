@@ -0,0 +1,28 @@
+package org.example.notificationservice.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.notificationservice.dto.DltReplayResponse;
+import org.example.notificationservice.kafka.DeadLetterReplayer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/notifications/dlt")
+@RequiredArgsConstructor
+@Slf4j
+public class DeadLetterController {
+
+    private final DeadLetterReplayer deadLetterReplayer;
+
+    @PostMapping("/replay")
+    public ResponseEntity<DltReplayResponse> replay(@RequestParam(defaultValue = "1000") int limit) {
+        log.info("Replaying up to {} events from the DLT", limit);
+
+        long start = System.currentTimeMillis();
+        int replayed = deadLetterReplayer.replay(limit);
+
+        return ResponseEntity.ok(new DltReplayResponse(
+                deadLetterReplayer.topic(), replayed, System.currentTimeMillis() - start));
+    }
+}
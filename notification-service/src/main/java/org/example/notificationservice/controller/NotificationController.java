@@ -1,7 +1,8 @@
 package org.example.notificationservice.controller;
 
 import org.example.notificationservice.dto.EmailRequest;
-import org.example.notificationservice.service.EmailService;
+import org.example.notificationservice.service.EmailDispatcher;
+import org.example.notificationservice.service.EmailMessages;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,17 +16,17 @@ import org.springframework.web.bind.annotation.*;
 @Slf4j
 public class NotificationController {
 
-    private final EmailService emailService;
+    private final EmailDispatcher emailDispatcher;
 
     @PostMapping("/email")
     public ResponseEntity<Void> sendEmail(@Valid @RequestBody EmailRequest request) {
-        log.info("Sending email to: {}", request.getTo());
+        log.debug("Queueing email to: {}", request.getTo());
 
-        emailService.sendEmail(
+        emailDispatcher.dispatch(EmailMessages.message(
                 request.getTo(),
                 request.getSubject(),
                 request.getContent()
-        );
+        ));
 
         return ResponseEntity.status(HttpStatus.ACCEPTED).build();
     }
@@ -34,9 +35,9 @@ public class NotificationController {
     public ResponseEntity<Void> sendUserCreatedEmail(
             @RequestParam String email,
             @RequestParam(required = false, defaultValue = "Пользователь") String userName) {
-        log.info("Sending user created email to: {}", email);
+        log.debug("Queueing user created email to: {}", email);
 
-        emailService.sendUserCreatedEmail(email, userName);
+        emailDispatcher.dispatch(EmailMessages.userCreated(email, userName));
 
         return ResponseEntity.status(HttpStatus.ACCEPTED).build();
     }
@@ -45,10 +46,10 @@ public class NotificationController {
     public ResponseEntity<Void> sendUserDeletedEmail(
             @RequestParam String email,
             @RequestParam(required = false, defaultValue = "Пользователь") String userName) {
-        log.info("Sending user deleted email to: {}", email);
+        log.debug("Queueing user deleted email to: {}", email);
 
-        emailService.sendUserDeletedEmail(email, userName);
+        emailDispatcher.dispatch(EmailMessages.userDeleted(email, userName));
 
         return ResponseEntity.status(HttpStatus.ACCEPTED).build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,14 @@
+package org.example.notificationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DltReplayResponse {
+    private String topic;
+    private int replayed;
+    private long durationMs;
+}
@@ -0,0 +1,17 @@
+package org.example.notificationservice.exception;
+
+import java.time.Duration;
+
+public class EmailQueueFullException extends EmailSendingException {
+
+    private final Duration retryAfter;
+
+    public EmailQueueFullException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
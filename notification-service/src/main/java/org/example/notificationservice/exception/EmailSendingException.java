@@ -1,4 +1,12 @@
 package org.example.notificationservice.exception;
 
-public class EmailSendingException {
+public class EmailSendingException extends RuntimeException {
+
+    public EmailSendingException(String message) {
+        super(message);
+    }
+
+    public EmailSendingException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
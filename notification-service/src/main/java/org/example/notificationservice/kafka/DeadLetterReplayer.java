@@ -0,0 +1,111 @@
+package org.example.notificationservice.kafka;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.example.notificationservice.config.KafkaConfig;
+import org.example.notificationservice.config.KafkaRetryProperties;
+import org.example.notificationservice.dto.UserEvent;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes dead-lettered events back to user-events, where they start over with a fresh set of
+ * attempts. Progress is kept as the offsets of a dedicated consumer group, so each replay picks up
+ * where the previous one stopped.
+ */
+@Component
+@Slf4j
+public class DeadLetterReplayer {
+
+    public static final String REPLAY_GROUP = "notification-dlt-replay";
+
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+
+    private final ConsumerFactory<String, UserEvent> consumerFactory;
+    private final KafkaTemplate<String, UserEvent> kafkaTemplate;
+    private final KafkaRetryProperties properties;
+
+    public DeadLetterReplayer(ConsumerFactory<String, UserEvent> consumerFactory,
+                              KafkaTemplate<String, UserEvent> kafkaTemplate,
+                              KafkaRetryProperties properties) {
+        this.consumerFactory = consumerFactory;
+        this.kafkaTemplate = kafkaTemplate;
+        this.properties = properties;
+    }
+
+    public String topic() {
+        return RetryTopicRouter.deadLetterTopic(KafkaConfig.USER_EVENTS_TOPIC);
+    }
+
+    /**
+     * Replays up to {@code limit} events that were in the DLT when the call started.
+     */
+    public synchronized int replay(int limit) {
+        String topic = topic();
+        try (Consumer<String, UserEvent> consumer = consumerFactory.createConsumer(REPLAY_GROUP, "-replay")) {
+            List<TopicPartition> partitions = consumer.partitionsFor(topic).stream()
+                    .map(info -> new TopicPartition(topic, info.partition()))
+                    .toList();
+            if (partitions.isEmpty()) {
+                return 0;
+            }
+            consumer.assign(partitions);
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+
+            int replayed = 0;
+            while (replayed < limit && !caughtUp(consumer, endOffsets)) {
+                ConsumerRecords<String, UserEvent> records = consumer.poll(POLL_TIMEOUT);
+                if (records.isEmpty()) {
+                    break;
+                }
+                List<CompletableFuture<?>> sends = new ArrayList<>();
+                Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+                for (ConsumerRecord<String, UserEvent> record : records) {
+                    if (replayed == limit) {
+                        break;
+                    }
+                    sends.add(kafkaTemplate.send(KafkaConfig.USER_EVENTS_TOPIC, record.key(), record.value()));
+                    offsets.put(new TopicPartition(record.topic(), record.partition()),
+                            new OffsetAndMetadata(record.offset() + 1));
+                    replayed++;
+                }
+                // Only move the replay group forward once the broker has the events back on the main topic
+                await(CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)));
+                consumer.commitSync(offsets);
+            }
+            log.info("Replayed {} events from {}", replayed, topic);
+            return replayed;
+        }
+    }
+
+    private static boolean caughtUp(Consumer<?, ?> consumer, Map<TopicPartition, Long> endOffsets) {
+        return endOffsets.entrySet().stream()
+                .allMatch(end -> consumer.position(end.getKey()) >= end.getValue());
+    }
+
+    private void await(CompletableFuture<Void> sends) {
+        try {
+            sends.get(properties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while replaying the DLT", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Could not publish replayed events", e);
+        }
+    }
+}
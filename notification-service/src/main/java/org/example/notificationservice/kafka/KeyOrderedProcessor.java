@@ -0,0 +1,216 @@
+package org.example.notificationservice.kafka;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.TopicPartition;
+import org.example.notificationservice.config.KafkaConfig;
+import org.example.notificationservice.config.KafkaConsumerProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Handles polled records on a thread pool. Records with the same key run one after another in
+ * offset order, different keys run in parallel, so a slow mailbox only holds up its own events.
+ * For each partition the offset below the oldest unfinished record is committed from the consumer
+ * thread: on every poll that returns records and on container idle events in between. A record
+ * whose handler fails is handled again after a backoff and holds back the commit until it succeeds.
+ */
+@Component
+@Slf4j
+public class KeyOrderedProcessor implements ConsumerAwareRebalanceListener {
+
+    private static final Duration REVOKE_POLL_INTERVAL = Duration.ofMillis(50);
+
+    private final KafkaConsumerProperties properties;
+    private final KafkaListenerEndpointRegistry registry;
+    private final ExecutorService executor;
+    private final Map<Object, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+    private final Map<TopicPartition, PartitionOffsets> partitions = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public KeyOrderedProcessor(KafkaConsumerProperties properties,
+                               KafkaListenerEndpointRegistry registry,
+                               MeterRegistry meterRegistry,
+                               Environment environment) {
+        this.properties = properties;
+        this.registry = registry;
+        AtomicInteger threads = new AtomicInteger();
+        // parallelism still caps the events handled at once; virtual threads only stop a blocked SMTP
+        // send from holding a platform thread
+        ThreadFactory threadFactory = Threading.VIRTUAL.isActive(environment)
+                ? new VirtualThreadTaskExecutor("key-ordered-").getVirtualThreadFactory()
+                : task -> {
+                    Thread thread = new Thread(task, "key-ordered-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                };
+        this.executor = Executors.newFixedThreadPool(properties.getParallelism(), threadFactory);
+
+        Gauge.builder("notification.events.in-flight", inFlight, AtomicInteger::get)
+                .description("Events handed to the key-ordered pool and not finished yet")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Must be called on the consumer thread, with the records of one poll.
+     */
+    public <K, V> void submit(List<ConsumerRecord<K, V>> records, Consumer<?, ?> consumer,
+                              java.util.function.Consumer<ConsumerRecord<K, V>> handler) {
+        commit(consumer);
+        for (ConsumerRecord<K, V> record : records) {
+            PartitionOffsets offsets = partitions.computeIfAbsent(
+                    new TopicPartition(record.topic(), record.partition()), tp -> new PartitionOffsets());
+            offsets.dispatched(record.offset());
+            inFlight.incrementAndGet();
+
+            // Records without a key have nothing to be ordered against
+            Object key = record.key() != null ? record.key() : new Object();
+            TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+            Runnable task = () -> handle(record, handler, partition, offsets);
+            CompletableFuture<Void> future = tails.compute(key, (k, tail) -> tail == null
+                    ? CompletableFuture.runAsync(task, executor)
+                    : tail.thenRunAsync(task, executor));
+            future.whenComplete((result, error) -> tails.remove(key, future));
+        }
+        if (inFlight.get() >= properties.getMaxInFlight()) {
+            MessageListenerContainer container = container();
+            if (container != null && !container.isPauseRequested()) {
+                log.debug("{} events in flight, pausing the consumer", inFlight.get());
+                container.pause();
+            }
+        }
+    }
+
+    @EventListener(condition = "event.listenerId.startsWith('" + KafkaConfig.KEY_ORDERED_LISTENER_ID + "')")
+    public void onIdle(ListenerContainerIdleEvent event) {
+        commit(event.getConsumer());
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> revoked) {
+        long deadline = System.nanoTime() + properties.getRevokeTimeout().toNanos();
+        for (TopicPartition partition : revoked) {
+            PartitionOffsets offsets = partitions.get(partition);
+            // Let running events finish so their offsets make it into the final commit
+            while (offsets != null && !offsets.isDrained() && System.nanoTime() < deadline) {
+                if (!pause(REVOKE_POLL_INTERVAL)) {
+                    break;
+                }
+            }
+        }
+        commit(consumer);
+        revoked.forEach(partitions::remove);
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> lost) {
+        lost.forEach(partitions::remove);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(properties.getRevokeTimeout().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private <K, V> void handle(ConsumerRecord<K, V> record, java.util.function.Consumer<ConsumerRecord<K, V>> handler,
+                               TopicPartition partition, PartitionOffsets offsets) {
+        try {
+            if (handleUntilDone(record, handler, partition, offsets)) {
+                offsets.completed(record.offset());
+            }
+        } finally {
+            if (inFlight.decrementAndGet() <= properties.getMaxInFlight() / 2) {
+                MessageListenerContainer container = container();
+                if (container != null && container.isPauseRequested()) {
+                    container.resume();
+                }
+            }
+        }
+    }
+
+    // Committing past a failed record would drop it, so it is retried in place; while it is stuck the
+    // key waits behind it and the in-flight count keeps growing until the consumer pauses.
+    // Returns false if the partition is revoked or the pool stops first: the offset stays pending and
+    // the record is delivered again to whoever owns the partition next.
+    private <K, V> boolean handleUntilDone(ConsumerRecord<K, V> record,
+                                           java.util.function.Consumer<ConsumerRecord<K, V>> handler,
+                                           TopicPartition partition, PartitionOffsets offsets) {
+        while (true) {
+            try {
+                handler.accept(record);
+                return true;
+            } catch (RuntimeException e) {
+                log.error("Error handling record {}-{}@{}, retrying in {}", record.topic(), record.partition(),
+                        record.offset(), properties.getRetryBackoff(), e);
+            }
+            if (!pause(properties.getRetryBackoff()) || executor.isShutdown() || partitions.get(partition) != offsets) {
+                return false;
+            }
+        }
+    }
+
+    private void commit(Consumer<?, ?> consumer) {
+        if (consumer == null) {
+            return;
+        }
+        Map<TopicPartition, OffsetAndMetadata> commits = new HashMap<>();
+        for (TopicPartition partition : consumer.assignment()) {
+            PartitionOffsets offsets = partitions.get(partition);
+            long offset = offsets != null ? offsets.committable() : -1;
+            if (offset >= 0) {
+                commits.put(partition, new OffsetAndMetadata(offset));
+            }
+        }
+        if (commits.isEmpty()) {
+            return;
+        }
+        try {
+            consumer.commitSync(commits);
+            commits.forEach((partition, offset) -> partitions.get(partition).committed(offset.offset()));
+        } catch (KafkaException e) {
+            // Nothing is lost, the same offsets are committed on the next attempt
+            log.warn("Offset commit failed: {}", e.getMessage());
+        }
+    }
+
+    private MessageListenerContainer container() {
+        return registry.getListenerContainer(KafkaConfig.KEY_ORDERED_LISTENER_ID);
+    }
+
+    private static boolean pause(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.notificationservice.kafka;
+
+import java.util.TreeSet;
+
+/**
+ * Offsets of one partition that were handed out but have not finished yet. Records are handed out
+ * in offset order, so everything below the lowest unfinished offset is done and safe to commit.
+ */
+class PartitionOffsets {
+
+    private final TreeSet<Long> pending = new TreeSet<>();
+    private long nextToDispatch = -1;
+    private long committed = -1;
+
+    synchronized void dispatched(long offset) {
+        pending.add(offset);
+        nextToDispatch = offset + 1;
+    }
+
+    synchronized void completed(long offset) {
+        pending.remove(offset);
+    }
+
+    synchronized boolean isDrained() {
+        return pending.isEmpty();
+    }
+
+    /**
+     * The offset to commit if it moved since the last commit, otherwise -1.
+     */
+    synchronized long committable() {
+        long next = pending.isEmpty() ? nextToDispatch : pending.first();
+        return next > committed ? next : -1;
+    }
+
+    synchronized void committed(long offset) {
+        committed = Math.max(committed, offset);
+    }
+}
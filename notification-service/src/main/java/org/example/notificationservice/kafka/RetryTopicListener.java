@@ -0,0 +1,130 @@
+package org.example.notificationservice.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.example.notificationservice.config.KafkaConfig;
+import org.example.notificationservice.config.KafkaRetryProperties;
+import org.example.notificationservice.dto.UserEvent;
+import org.example.notificationservice.service.KafkaConsumerService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.kafka.annotation.KafkaListenerConfigurer;
+import org.springframework.kafka.config.KafkaListenerContainerFactory;
+import org.springframework.kafka.config.KafkaListenerEndpoint;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistrar;
+import org.springframework.kafka.listener.AcknowledgingMessageListener;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.TopicPartitionOffset;
+import org.springframework.kafka.support.converter.MessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Consumes the retry topics, one container per topic so a long delay on a later attempt never holds
+ * up an earlier one. Records in a retry topic were all delayed by the same amount, so they fall due in
+ * order: a record that is not due yet is nacked, which pauses just this container until it is.
+ */
+@Component
+public class RetryTopicListener implements KafkaListenerConfigurer, AcknowledgingMessageListener<String, UserEvent> {
+
+    private final KafkaConsumerService kafkaConsumerService;
+    private final KafkaRetryProperties properties;
+    private final KafkaListenerContainerFactory<?> containerFactory;
+
+    public RetryTopicListener(KafkaConsumerService kafkaConsumerService,
+                              KafkaRetryProperties properties,
+                              @Qualifier(KafkaConfig.RETRY_CONTAINER_FACTORY)
+                              KafkaListenerContainerFactory<?> containerFactory) {
+        this.kafkaConsumerService = kafkaConsumerService;
+        this.properties = properties;
+        this.containerFactory = containerFactory;
+    }
+
+    @Override
+    public void configureKafkaListeners(KafkaListenerEndpointRegistrar registrar) {
+        for (int attempt = 1; attempt <= properties.getAttempts(); attempt++) {
+            String topic = RetryTopicRouter.retryTopic(KafkaConfig.USER_EVENTS_TOPIC, attempt);
+            registrar.registerEndpoint(new RetryEndpoint(topic), containerFactory);
+        }
+    }
+
+    @Override
+    public void onMessage(ConsumerRecord<String, UserEvent> record, Acknowledgment acknowledgment) {
+        long wait = RetryTopicRouter.dueAt(record) - System.currentTimeMillis();
+        if (wait > 0) {
+            acknowledgment.nack(Duration.ofMillis(wait));
+            return;
+        }
+        // Failures are passed on to the next retry topic or the DLT from there
+        kafkaConsumerService.consumeUserEvent(record);
+        acknowledgment.acknowledge();
+    }
+
+    private final class RetryEndpoint implements KafkaListenerEndpoint {
+
+        private final String topic;
+
+        private RetryEndpoint(String topic) {
+            this.topic = topic;
+        }
+
+        @Override
+        public String getId() {
+            return topic;
+        }
+
+        @Override
+        public String getGroupId() {
+            return properties.getGroupId();
+        }
+
+        @Override
+        public String getGroup() {
+            return null;
+        }
+
+        @Override
+        public Collection<String> getTopics() {
+            return List.of(topic);
+        }
+
+        @Override
+        public TopicPartitionOffset[] getTopicPartitionsToAssign() {
+            return null;
+        }
+
+        @Override
+        public Pattern getTopicPattern() {
+            return null;
+        }
+
+        @Override
+        public String getClientIdPrefix() {
+            return null;
+        }
+
+        @Override
+        public Integer getConcurrency() {
+            return null;
+        }
+
+        @Override
+        public Boolean getAutoStartup() {
+            return null;
+        }
+
+        @Override
+        public void setupListenerContainer(MessageListenerContainer listenerContainer,
+                                           MessageConverter messageConverter) {
+            listenerContainer.setupMessageListener(RetryTopicListener.this);
+        }
+
+        @Override
+        public boolean isSplitIterables() {
+            return false;
+        }
+    }
+}
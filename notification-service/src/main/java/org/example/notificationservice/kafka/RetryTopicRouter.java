@@ -0,0 +1,137 @@
+package org.example.notificationservice.kafka;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.example.notificationservice.config.KafkaRetryProperties;
+import org.example.notificationservice.dto.UserEvent;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.stereotype.Component;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Moves an event that could not be handled to the next retry topic, or to the dead-letter topic
+ * once the attempts are used up, so the listener can carry on with the next record. Failure details
+ * travel in the standard kafka_dlt-* headers; the attempt number and the time the event is due again
+ * in the notification-retry-* headers.
+ */
+@Component
+@Slf4j
+public class RetryTopicRouter {
+
+    public static final String ATTEMPTS_HEADER = "notification-retry-attempts";
+    public static final String DUE_AT_HEADER = "notification-retry-due-at";
+
+    private final KafkaTemplate<String, UserEvent> kafkaTemplate;
+    private final KafkaRetryProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public RetryTopicRouter(KafkaTemplate<String, UserEvent> kafkaTemplate,
+                            KafkaRetryProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public static String retryTopic(String topic, int attempt) {
+        return topic + "-retry-" + attempt;
+    }
+
+    public static String deadLetterTopic(String topic) {
+        return topic + "-dlt";
+    }
+
+    public static long dueAt(ConsumerRecord<?, ?> record) {
+        String dueAt = stringHeader(record.headers(), DUE_AT_HEADER);
+        return dueAt != null ? Long.parseLong(dueAt) : 0;
+    }
+
+    public void retryOrDeadLetter(ConsumerRecord<String, UserEvent> record, Exception error) {
+        String originalTopic = stringHeader(record.headers(), KafkaHeaders.DLT_ORIGINAL_TOPIC);
+        if (originalTopic == null) {
+            originalTopic = record.topic();
+        }
+        String attempts = stringHeader(record.headers(), ATTEMPTS_HEADER);
+        int attempt = (attempts != null ? Integer.parseInt(attempts) : 0) + 1;
+
+        Headers headers = new RecordHeaders();
+        copyOriginOrSet(record, headers);
+        headers.add(KafkaHeaders.DLT_EXCEPTION_FQCN, bytes(error.getClass().getName()));
+        headers.add(KafkaHeaders.DLT_EXCEPTION_MESSAGE, bytes(String.valueOf(error.getMessage())));
+        headers.add(KafkaHeaders.DLT_EXCEPTION_STACKTRACE, bytes(stackTrace(error)));
+        headers.add(ATTEMPTS_HEADER, bytes(String.valueOf(attempt)));
+
+        String topic;
+        if (attempt <= properties.getAttempts()) {
+            topic = retryTopic(originalTopic, attempt);
+            long dueAt = System.currentTimeMillis() + properties.delay(attempt).toMillis();
+            headers.add(DUE_AT_HEADER, bytes(String.valueOf(dueAt)));
+            log.warn("Event for {} failed ({}), retry {} of {} via {}", record.key(), error.getMessage(),
+                    attempt, properties.getAttempts(), topic);
+        } else {
+            topic = deadLetterTopic(originalTopic);
+            log.error("Event for {} failed after {} attempts, moving it to {}", record.key(), attempt, topic, error);
+        }
+
+        publish(new ProducerRecord<>(topic, null, record.key(), record.value(), headers));
+        meterRegistry.counter("notification.events.rerouted", "topic", topic).increment();
+    }
+
+    // Blocks so the source offset is only committed once the event is safely on the next topic
+    private void publish(ProducerRecord<String, UserEvent> record) {
+        try {
+            kafkaTemplate.send(record).get(properties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing to " + record.topic(), e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Could not publish failed event to " + record.topic(), e);
+        }
+    }
+
+    private static void copyOriginOrSet(ConsumerRecord<String, UserEvent> record, Headers headers) {
+        Headers incoming = record.headers();
+        if (incoming.lastHeader(KafkaHeaders.DLT_ORIGINAL_TOPIC) != null) {
+            for (String name : new String[]{KafkaHeaders.DLT_ORIGINAL_TOPIC, KafkaHeaders.DLT_ORIGINAL_PARTITION,
+                    KafkaHeaders.DLT_ORIGINAL_OFFSET, KafkaHeaders.DLT_ORIGINAL_TIMESTAMP}) {
+                Header header = incoming.lastHeader(name);
+                if (header != null) {
+                    headers.add(header);
+                }
+            }
+            return;
+        }
+        headers.add(KafkaHeaders.DLT_ORIGINAL_TOPIC, bytes(record.topic()));
+        headers.add(KafkaHeaders.DLT_ORIGINAL_PARTITION, ByteBuffer.allocate(Integer.BYTES).putInt(record.partition()).array());
+        headers.add(KafkaHeaders.DLT_ORIGINAL_OFFSET, ByteBuffer.allocate(Long.BYTES).putLong(record.offset()).array());
+        headers.add(KafkaHeaders.DLT_ORIGINAL_TIMESTAMP, ByteBuffer.allocate(Long.BYTES).putLong(record.timestamp()).array());
+    }
+
+    private static String stringHeader(Headers headers, String name) {
+        Header header = headers.lastHeader(name);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String stackTrace(Exception error) {
+        StringWriter writer = new StringWriter();
+        error.printStackTrace(new PrintWriter(writer));
+        return writer.toString();
+    }
+}
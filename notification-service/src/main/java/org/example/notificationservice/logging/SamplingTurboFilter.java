@@ -0,0 +1,66 @@
+package org.example.notificationservice.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Lets through one in {@code rate} INFO-and-below log calls of the configured loggers and their
+ * children; WARN and ERROR always pass. Turbo filters run before the logging event is built,
+ * so a call that is sampled out costs a map lookup and a counter increment.
+ * <p>
+ * Same filter as user-service's: the services share no code module (each has its own
+ * {@code UserEvent} too), so keep the two copies in step.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private static final AtomicLong NOT_SAMPLED = new AtomicLong();
+
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final Function<String, AtomicLong> counterFactory = this::newCounter;
+    private List<String> loggers = List.of();
+    private int rate = 1;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // A null format is an isXxxEnabled() probe; sampling it too would count each guarded call twice
+        if (format == null || rate <= 1 || level.levelInt >= Level.WARN_INT
+                || level.levelInt < logger.getEffectiveLevel().levelInt) {
+            return FilterReply.NEUTRAL;
+        }
+        AtomicLong counter = counters.computeIfAbsent(logger.getName(), counterFactory);
+        if (counter == NOT_SAMPLED) {
+            return FilterReply.NEUTRAL;
+        }
+        return counter.getAndIncrement() % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public void setLoggers(String loggers) {
+        this.loggers = Arrays.stream(loggers.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .toList();
+    }
+
+    public void setRate(int rate) {
+        this.rate = rate;
+    }
+
+    private AtomicLong newCounter(String loggerName) {
+        for (String sampled : loggers) {
+            if (loggerName.equals(sampled) || loggerName.startsWith(sampled + ".")) {
+                return new AtomicLong();
+            }
+        }
+        return NOT_SAMPLED;
+    }
+}
@@ -0,0 +1,225 @@
+package org.example.notificationservice.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.example.notificationservice.config.SmtpPoolProperties;
+import org.example.notificationservice.exception.EmailSendingException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps connected SMTP transports between sends instead of doing a connect and handshake per email.
+ * Connections are taken through a {@link Lease}, which reconnects once when the server has dropped
+ * the connection in the meantime, and fails the remaining sends at once when the server cannot be reached.
+ */
+@Component
+@EnableScheduling
+@Slf4j
+public class SmtpTransportPool {
+
+    private final JavaMailSenderImpl mailSender;
+    private final SmtpPoolProperties properties;
+    // Most recently used first, so surplus connections sit at the tail and age out
+    private final Deque<PooledTransport> idle = new ConcurrentLinkedDeque<>();
+    private final Semaphore permits;
+    private final AtomicInteger open = new AtomicInteger();
+    private final Counter opened;
+
+    public SmtpTransportPool(JavaMailSenderImpl mailSender,
+                             SmtpPoolProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.mailSender = mailSender;
+        this.properties = properties;
+        this.permits = new Semaphore(properties.getMaxSize());
+
+        Gauge.builder("notification.email.smtp.connections", open, AtomicInteger::get)
+                .description("Open SMTP connections, in use or idle")
+                .register(meterRegistry);
+        Gauge.builder("notification.email.smtp.connections.idle", idle, Deque::size)
+                .description("SMTP connections waiting in the pool")
+                .register(meterRegistry);
+        this.opened = Counter.builder("notification.email.smtp.connections.opened")
+                .description("SMTP connections established")
+                .register(meterRegistry);
+    }
+
+    public Lease borrow() {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EmailSendingException("Interrupted while waiting for an SMTP connection", e);
+        }
+        try {
+            return new Lease(takeIdle());
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notification.email.smtp-pool.eviction-interval-ms:10000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        for (PooledTransport pooled : idle) {
+            if ((pooled.idleFor(now) > properties.getIdleTimeout().toNanos() || pooled.expired(now))
+                    && idle.remove(pooled)) {
+                discard(pooled);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            discard(pooled);
+        }
+    }
+
+    private PooledTransport takeIdle() {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            long now = System.nanoTime();
+            if (pooled.expired(now)) {
+                discard(pooled);
+                continue;
+            }
+            // isConnected() sends a NOOP, so only pay for it once the connection has been idle a while
+            if (pooled.idleFor(now) > properties.getValidateAfter().toNanos() && !pooled.transport.isConnected()) {
+                discard(pooled);
+                continue;
+            }
+            return pooled;
+        }
+        return connect();
+    }
+
+    private PooledTransport connect() {
+        try {
+            Transport transport = mailSender.getSession().getTransport(mailSender.getProtocol());
+            transport.connect(mailSender.getHost(), mailSender.getPort(),
+                    emptyToNull(mailSender.getUsername()), emptyToNull(mailSender.getPassword()));
+            open.incrementAndGet();
+            opened.increment();
+            log.debug("Opened SMTP connection to {}:{}", mailSender.getHost(), mailSender.getPort());
+            return new PooledTransport(transport);
+        } catch (MessagingException e) {
+            throw new EmailSendingException("Could not connect to the SMTP server", e);
+        }
+    }
+
+    private void discard(PooledTransport pooled) {
+        open.decrementAndGet();
+        try {
+            pooled.transport.close();
+        } catch (MessagingException e) {
+            log.debug("Error closing SMTP connection: {}", e.getMessage());
+        }
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    /**
+     * One SMTP connection held by a single sender. Sends over it until closed, then the connection
+     * goes back to the pool unless it broke.
+     */
+    public final class Lease implements AutoCloseable {
+
+        private PooledTransport current;
+        // Set once reconnecting failed, so the rest of the batch fails fast instead of waiting on connect timeouts
+        private EmailSendingException unreachable;
+
+        private Lease(PooledTransport current) {
+            this.current = current;
+        }
+
+        public void send(MimeMessage message) throws MessagingException {
+            if (current == null) {
+                current = reconnect();
+                sendOnFreshConnection(message);
+                return;
+            }
+            try {
+                current.transport.sendMessage(message, message.getAllRecipients());
+            } catch (SendFailedException e) {
+                // The server refused this message, the connection itself is fine
+                throw e;
+            } catch (MessagingException | IllegalStateException e) {
+                log.debug("SMTP connection lost, retrying on a new one: {}", e.getMessage());
+                discard(current);
+                current = null;
+                current = reconnect();
+                sendOnFreshConnection(message);
+            }
+        }
+
+        private PooledTransport reconnect() {
+            if (unreachable != null) {
+                throw new EmailSendingException("SMTP server unreachable, not retrying", unreachable);
+            }
+            try {
+                return connect();
+            } catch (EmailSendingException e) {
+                unreachable = e;
+                throw e;
+            }
+        }
+
+        private void sendOnFreshConnection(MimeMessage message) throws MessagingException {
+            try {
+                current.transport.sendMessage(message, message.getAllRecipients());
+            } catch (SendFailedException e) {
+                throw e;
+            } catch (MessagingException | IllegalStateException e) {
+                // The next send reconnects instead of reusing a connection that just failed
+                discard(current);
+                current = null;
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (current != null) {
+                current.lastUsed = System.nanoTime();
+                idle.offerFirst(current);
+            }
+            permits.release();
+        }
+    }
+
+    private final class PooledTransport {
+        private final Transport transport;
+        private final long createdAt = System.nanoTime();
+        private volatile long lastUsed = createdAt;
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+
+        private long idleFor(long now) {
+            return now - lastUsed;
+        }
+
+        private boolean expired(long now) {
+            return now - createdAt > properties.getMaxLifetime().toNanos();
+        }
+    }
+}
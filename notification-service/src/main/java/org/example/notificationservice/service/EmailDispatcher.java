@@ -0,0 +1,151 @@
+package org.example.notificationservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.notificationservice.config.EmailDispatchProperties;
+import org.example.notificationservice.exception.EmailQueueFullException;
+import org.example.notificationservice.exception.EmailSendingException;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded queue in front of {@link EmailService}: callers only enqueue, a fixed pool of workers
+ * talks to the SMTP server. A full queue is rejected with {@link EmailQueueFullException}
+ * instead of blocking the caller. Each worker sends what has piled up, up to batch-size emails, over
+ * one pooled SMTP connection. The workers are virtual threads when spring.threads.virtual.enabled is set.
+ */
+@Component
+@Slf4j
+public class EmailDispatcher {
+
+    private final EmailService emailService;
+    private final EmailDispatchProperties properties;
+    private final BlockingQueue<QueuedEmail> queue;
+    private final ThreadFactory threadFactory;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    private final Timer waitTimer;
+    private final Counter rejected;
+    private final Counter failed;
+
+    public EmailDispatcher(EmailService emailService,
+                           EmailDispatchProperties properties,
+                           MeterRegistry meterRegistry,
+                           Environment environment) {
+        this.emailService = emailService;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        AtomicInteger workerCount = new AtomicInteger();
+        this.threadFactory = Threading.VIRTUAL.isActive(environment)
+                ? new VirtualThreadTaskExecutor("email-dispatch-").getVirtualThreadFactory()
+                : task -> new Thread(task, "email-dispatch-" + workerCount.incrementAndGet());
+
+        Gauge.builder("notification.email.queue.depth", queue, BlockingQueue::size)
+                .description("Emails waiting for a dispatch worker")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("notification.email.queue.wait")
+                .description("Time an email spent in the queue before a worker picked it up")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("notification.email.queue.rejected")
+                .description("Emails turned away because the queue was full")
+                .register(meterRegistry);
+        this.failed = Counter.builder("notification.email.dispatch.failures")
+                .description("Queued emails the SMTP server did not accept")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 0; i < properties.getWorkers(); i++) {
+            Thread worker = threadFactory.newThread(this::work);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    public void dispatch(SimpleMailMessage message) {
+        if (!running) {
+            throw new EmailSendingException("Email dispatch is shutting down");
+        }
+        if (!queue.offer(new QueuedEmail(message, System.nanoTime()))) {
+            rejected.increment();
+            throw new EmailQueueFullException(
+                    "Email queue is full (" + properties.getQueueCapacity() + " messages)",
+                    properties.getRetryAfter());
+        }
+    }
+
+    // Stops taking new emails and gives the workers until shutdown-timeout to drain the queue
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        long deadline = System.nanoTime() + properties.getShutdownTimeout().toNanos();
+        for (Thread worker : workers) {
+            worker.join(Math.max(TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()), 1));
+        }
+        workers.forEach(Thread::interrupt);
+        if (!queue.isEmpty()) {
+            log.warn("Dropping {} queued emails on shutdown", queue.size());
+        }
+    }
+
+    private void work() {
+        List<QueuedEmail> batch = new ArrayList<>(properties.getBatchSize());
+        while (running || !queue.isEmpty()) {
+            QueuedEmail first;
+            try {
+                first = queue.poll(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first == null) {
+                continue;
+            }
+            batch.add(first);
+            queue.drainTo(batch, properties.getBatchSize() - 1);
+            send(batch);
+            batch.clear();
+        }
+    }
+
+    private void send(List<QueuedEmail> batch) {
+        long now = System.nanoTime();
+        List<SimpleMailMessage> messages = new ArrayList<>(batch.size());
+        for (QueuedEmail email : batch) {
+            waitTimer.record(now - email.enqueuedAt(), TimeUnit.NANOSECONDS);
+            messages.add(email.message());
+        }
+        try {
+            for (FailedEmail failure : emailService.send(messages)) {
+                failed.increment();
+                log.error("Failed to send email to: {}", failure.message().getTo(), failure.error());
+            }
+        } catch (RuntimeException e) {
+            failed.increment(messages.size());
+            log.error("Failed to send a batch of {} emails", messages.size(), e);
+        }
+    }
+
+    private record QueuedEmail(SimpleMailMessage message, long enqueuedAt) {
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.notificationservice.service;
+
+import org.springframework.mail.SimpleMailMessage;
+
+public final class EmailMessages {
+
+    private EmailMessages() {
+    }
+
+    public static SimpleMailMessage message(String to, String subject, String text) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(to);
+        message.setSubject(subject);
+        message.setText(text);
+        return message;
+    }
+
+    public static SimpleMailMessage userCreated(String to, String userName) {
+        String subject = "Аккаунт успешно создан";
+        String text = "Здравствуйте! Ваш аккаунт на сайте localhost:8080/api/users был успешно создан.";
+
+        return message(to, subject, text);
+    }
+
+    public static SimpleMailMessage userDeleted(String to, String userName) {
+        String subject = "Аккаунт удален";
+        String text = "Здравствуйте! Ваш аккаунт был удалён.";
+
+        return message(to, subject, text);
+    }
+}
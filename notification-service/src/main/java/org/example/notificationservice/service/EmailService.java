@@ -1,7 +1,19 @@
 package org.example.notificationservice.service;
 
+import org.springframework.mail.SimpleMailMessage;
+
+import java.util.List;
+
 public interface EmailService {
     void sendEmail(String to, String subject, String text);
     void sendUserCreatedEmail(String to, String userName);
     void sendUserDeletedEmail(String to, String userName);
-}
\ No newline at end of file
+    void send(SimpleMailMessage message);
+
+    /**
+     * Sends the messages in order over one SMTP connection.
+     *
+     * @return the messages that were not accepted, empty when all went out
+     */
+    List<FailedEmail> send(List<SimpleMailMessage> messages);
+}
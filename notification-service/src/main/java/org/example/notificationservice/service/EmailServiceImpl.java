@@ -1,44 +1,110 @@
 package org.example.notificationservice.service;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
 import lombok.extern.slf4j.Slf4j;
+import org.example.notificationservice.exception.EmailSendingException;
+import org.example.notificationservice.mail.SmtpTransportPool;
+import org.springframework.mail.MailException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMailMessage;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class EmailServiceImpl implements EmailService {
 
     private final JavaMailSender mailSender;
+    private final SmtpTransportPool transportPool;
+    private final Timer sentTimer;
+    private final Timer failedTimer;
+
+    public EmailServiceImpl(JavaMailSender mailSender, SmtpTransportPool transportPool,
+                            MeterRegistry meterRegistry) {
+        this.mailSender = mailSender;
+        this.transportPool = transportPool;
+        this.sentTimer = smtpTimer(meterRegistry, "success");
+        this.failedTimer = smtpTimer(meterRegistry, "failure");
+    }
 
     @Override
     public void sendEmail(String to, String subject, String text) {
-        log.info("Sending email to: {}, Subject: {}", to, subject);
-
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(to);
-        message.setSubject(subject);
-        message.setText(text);
-
-        mailSender.send(message);
-        log.info("Email sent successfully to: {}", to);
+        send(EmailMessages.message(to, subject, text));
     }
 
     @Override
     public void sendUserCreatedEmail(String to, String userName) {
-        String subject = "Аккаунт успешно создан";
-        String text = "Здравствуйте! Ваш аккаунт на сайте localhost:8080/api/users был успешно создан.";
-
-        sendEmail(to, subject, text);
+        send(EmailMessages.userCreated(to, userName));
     }
 
     @Override
     public void sendUserDeletedEmail(String to, String userName) {
-        String subject = "Аккаунт удален";
-        String text = "Здравствуйте! Ваш аккаунт был удалён.";
+        send(EmailMessages.userDeleted(to, userName));
+    }
+
+    @Override
+    public void send(SimpleMailMessage message) {
+        List<FailedEmail> failures = send(List.of(message));
+        if (!failures.isEmpty()) {
+            throw failures.get(0).error();
+        }
+    }
+
+    @Override
+    public List<FailedEmail> send(List<SimpleMailMessage> messages) {
+        List<FailedEmail> failures = new ArrayList<>();
+        SmtpTransportPool.Lease lease;
+        try {
+            lease = transportPool.borrow();
+        } catch (EmailSendingException e) {
+            messages.forEach(message -> failures.add(new FailedEmail(message, e)));
+            return failures;
+        }
+        try (lease) {
+            for (SimpleMailMessage message : messages) {
+                try {
+                    send(lease, message);
+                } catch (EmailSendingException e) {
+                    failures.add(new FailedEmail(message, e));
+                }
+            }
+        }
+        return failures;
+    }
+
+    private void send(SmtpTransportPool.Lease lease, SimpleMailMessage message) {
+        log.debug("Sending email to: {}, Subject: {}", Arrays.toString(message.getTo()), message.getSubject());
+
+        long start = System.nanoTime();
+        try {
+            MimeMessage mimeMessage = mailSender.createMimeMessage();
+            message.copyTo(new MimeMailMessage(mimeMessage));
+            mimeMessage.saveChanges();
+            lease.send(mimeMessage);
+        } catch (MessagingException | MailException | IllegalStateException e) {
+            failedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw new EmailSendingException("Failed to send email to " + Arrays.toString(message.getTo()), e);
+        } catch (EmailSendingException e) {
+            failedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        sentTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        log.info("Email sent successfully to: {}", Arrays.toString(message.getTo()));
+    }
 
-        sendEmail(to, subject, text);
+    private static Timer smtpTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("notification.email.send")
+                .description("Time the SMTP server took to accept an email")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
-}
\ No newline at end of file
+}
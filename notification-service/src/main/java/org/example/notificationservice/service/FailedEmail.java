@@ -0,0 +1,7 @@
+package org.example.notificationservice.service;
+
+import org.example.notificationservice.exception.EmailSendingException;
+import org.springframework.mail.SimpleMailMessage;
+
+public record FailedEmail(SimpleMailMessage message, EmailSendingException error) {
+}
@@ -1,22 +1,72 @@
 package org.example.notificationservice.service;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.notificationservice.config.KafkaConfig;
 import org.example.notificationservice.dto.UserEvent;
-import lombok.RequiredArgsConstructor;
+import org.example.notificationservice.kafka.KeyOrderedProcessor;
+import org.example.notificationservice.kafka.RetryTopicRouter;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.mail.SimpleMailMessage;
 import org.springframework.stereotype.Service;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class KafkaConsumerService {
 
+    // Only the listener matching notification.kafka.consumer.mode joins the group
+    private static final String RECORD_MODE = "#{'${notification.kafka.consumer.mode:RECORD}'.equalsIgnoreCase('RECORD')}";
+    private static final String BATCH_MODE = "#{'${notification.kafka.consumer.mode:RECORD}'.equalsIgnoreCase('BATCH')}";
+    private static final String KEY_ORDERED_MODE =
+            "#{'${notification.kafka.consumer.mode:RECORD}'.equalsIgnoreCase('KEY_ORDERED')}";
+
     private final EmailService emailService;
+    private final KeyOrderedProcessor keyOrderedProcessor;
+    private final RetryTopicRouter retryTopicRouter;
+    private final MeterRegistry meterRegistry;
+    // Records of a poll that already got their email or reached a retry topic when rerouting another
+    // record of it failed. The error handler hands the same poll back, and these are not emailed again.
+    private final Set<ConsumerRecord<?, ?>> handled =
+            Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
 
-    @KafkaListener(topics = "user-events", groupId = "notification-group")
-    public void consumeUserEvent(UserEvent event) {
-        log.info("Received user event: {} for email: {}", event.getEventType(), event.getEmail());
+    public KafkaConsumerService(EmailService emailService, KeyOrderedProcessor keyOrderedProcessor,
+                                RetryTopicRouter retryTopicRouter, MeterRegistry meterRegistry) {
+        this.emailService = emailService;
+        this.keyOrderedProcessor = keyOrderedProcessor;
+        this.retryTopicRouter = retryTopicRouter;
+        this.meterRegistry = meterRegistry;
+    }
 
+    /**
+     * Handles one event. A failed send is passed to a retry topic instead of being retried here,
+     * so the partition keeps moving.
+     */
+    @KafkaListener(id = "user-events", topics = KafkaConfig.USER_EVENTS_TOPIC, groupId = "notification-group",
+            autoStartup = RECORD_MODE)
+    public void consumeUserEvent(ConsumerRecord<String, UserEvent> record) {
+        UserEvent event = record.value();
+        if (log.isDebugEnabled()) {
+            log.debug("Received user event: {} for email: {}", event.getEventType(), event.getEmail());
+        }
+
+        long start = System.nanoTime();
+        String eventType = event.getEventType();
+        String outcome = "success";
         try {
             switch (event.getEventType()) {
                 case "USER_CREATED":
@@ -25,11 +75,135 @@ public class KafkaConsumerService {
                 case "USER_DELETED":
                     emailService.sendUserDeletedEmail(event.getEmail(), event.getUserName());
                     break;
+                case "USER_UPDATED":
+                    log.debug("No notification for event: {}", event.getEventType());
+                    break;
                 default:
+                    // Keep arbitrary event types out of the timer's tags
+                    eventType = "UNKNOWN";
                     log.warn("Unknown event type: {}", event.getEventType());
             }
         } catch (Exception e) {
-            log.error("Error processing user event for email: {}", event.getEmail(), e);
+            outcome = "failure";
+            retryTopicRouter.retryOrDeadLetter(record, e);
+        } finally {
+            processingTimer(eventType, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Handles everything one poll returned. Events are grouped by type and each group goes to the
+     * email layer in a single call; the container commits the offsets once the method returns.
+     * If a failed event cannot be passed to a retry topic the poll fails, and when it is delivered
+     * again only the events that were not handled the first time are processed.
+     */
+    @KafkaListener(id = "user-events-batch", topics = KafkaConfig.USER_EVENTS_TOPIC, groupId = "notification-group",
+            containerFactory = KafkaConfig.BATCH_CONTAINER_FACTORY, autoStartup = BATCH_MODE)
+    public void consumeUserEvents(List<ConsumerRecord<String, UserEvent>> records) {
+        log.debug("Received {} user events", records.size());
+
+        Map<String, List<ConsumerRecord<String, UserEvent>>> byType = records.stream()
+                .filter(record -> record.value() != null && !handled.contains(record))
+                .collect(Collectors.groupingBy(record -> eventTypeTag(record.value()),
+                        LinkedHashMap::new, Collectors.toList()));
+        Map<ConsumerRecord<String, UserEvent>, RuntimeException> unrouted = new LinkedHashMap<>();
+        byType.forEach((eventType, group) -> unrouted.putAll(handleBatch(eventType, group)));
+
+        if (unrouted.isEmpty()) {
+            records.forEach(handled::remove);
+            return;
+        }
+        records.stream().filter(record -> !unrouted.containsKey(record)).forEach(handled::add);
+        throw new IllegalStateException("Could not pass " + unrouted.size() + " failed events to a retry topic",
+                unrouted.values().iterator().next());
+    }
+
+    /**
+     * Hands each record to the key-ordered pool and returns right away; events for one email are
+     * still handled in the order they were produced.
+     */
+    @KafkaListener(id = KafkaConfig.KEY_ORDERED_LISTENER_ID, topics = KafkaConfig.USER_EVENTS_TOPIC, groupId = "notification-group",
+            containerFactory = KafkaConfig.KEY_ORDERED_CONTAINER_FACTORY, autoStartup = KEY_ORDERED_MODE)
+    public void consumeUserEventsByKey(List<ConsumerRecord<String, UserEvent>> records, Consumer<?, ?> consumer) {
+        keyOrderedProcessor.submit(records, consumer, this::consumeUserEvent);
+    }
+
+    // Returns the failed events that could not be passed to a retry topic either
+    private Map<ConsumerRecord<String, UserEvent>, RuntimeException> handleBatch(
+            String eventType, List<ConsumerRecord<String, UserEvent>> records) {
+        batchSize(eventType).record(records.size());
+
+        long start = System.nanoTime();
+        Map<SimpleMailMessage, ConsumerRecord<String, UserEvent>> sources = new IdentityHashMap<>();
+        Map<ConsumerRecord<String, UserEvent>, Exception> failed = new LinkedHashMap<>();
+        try {
+            List<FailedEmail> failures = switch (eventType) {
+                case "USER_CREATED" -> emailService.send(messages(records, EmailMessages::userCreated, sources));
+                case "USER_DELETED" -> emailService.send(messages(records, EmailMessages::userDeleted, sources));
+                case "USER_UPDATED" -> {
+                    log.debug("No notification for {} {} events", records.size(), eventType);
+                    yield List.of();
+                }
+                default -> {
+                    log.warn("Skipping {} events of unknown type", records.size());
+                    yield List.of();
+                }
+            };
+            failures.forEach(failure -> failed.put(sources.get(failure.message()), failure.error()));
+        } catch (RuntimeException e) {
+            log.error("Error processing {} {} events", records.size(), eventType, e);
+            records.forEach(record -> failed.put(record, e));
+        } finally {
+            processingTimer(eventType, failed.isEmpty() ? "success" : "failure")
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
+
+        Map<ConsumerRecord<String, UserEvent>, RuntimeException> unrouted = new LinkedHashMap<>();
+        failed.forEach((record, error) -> {
+            try {
+                retryTopicRouter.retryOrDeadLetter(record, error);
+            } catch (RuntimeException e) {
+                log.error("Could not pass the event for {} to a retry topic", record.key(), e);
+                unrouted.put(record, e);
+            }
+        });
+        return unrouted;
+    }
+
+    private static List<SimpleMailMessage> messages(List<ConsumerRecord<String, UserEvent>> records,
+                                                    BiFunction<String, String, SimpleMailMessage> template,
+                                                    Map<SimpleMailMessage, ConsumerRecord<String, UserEvent>> sources) {
+        return records.stream()
+                .map(record -> {
+                    SimpleMailMessage message = template.apply(record.value().getEmail(), record.value().getUserName());
+                    sources.put(message, record);
+                    return message;
+                })
+                .toList();
+    }
+
+    private static String eventTypeTag(UserEvent event) {
+        String eventType = event.getEventType();
+        return switch (eventType != null ? eventType : "") {
+            case "USER_CREATED", "USER_DELETED", "USER_UPDATED" -> eventType;
+            default -> "UNKNOWN";
+        };
+    }
+
+    // Meter lookups are cached by the registry, so this does not register a new timer per event
+    private Timer processingTimer(String eventType, String outcome) {
+        return Timer.builder("notification.events.process")
+                .description("Time to handle a user event, or a batch of one event type, including the emails")
+                .tag("event", eventType != null ? eventType : "UNKNOWN")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private DistributionSummary batchSize(String eventType) {
+        return DistributionSummary.builder("notification.events.batch.size")
+                .description("Events of one type handed to the email layer in a single call")
+                .tag("event", eventType)
+                .register(meterRegistry);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,71 @@
+package org.example.notificationservice.controller;
+
+import org.example.notificationservice.exception.EmailQueueFullException;
+import org.example.notificationservice.exception.GlobalExceptionHandler;
+import org.example.notificationservice.service.EmailDispatcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationControllerTest {
+
+    private static final String BODY = """
+            {"to": "user@example.com", "subject": "Subject", "content": "Content"}
+            """;
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private EmailDispatcher emailDispatcher;
+
+    @InjectMocks
+    private NotificationController notificationController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(notificationController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void sendEmail_QueuesMessage_ReturnsAccepted() throws Exception {
+        mockMvc.perform(post("/api/notifications/email")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BODY))
+                .andExpect(status().isAccepted());
+
+        verify(emailDispatcher).dispatch(any(SimpleMailMessage.class));
+    }
+
+    @Test
+    void sendEmail_QueueFull_ReturnsTooManyRequestsWithRetryAfter() throws Exception {
+        doThrow(new EmailQueueFullException("Email queue is full", Duration.ofSeconds(5)))
+                .when(emailDispatcher).dispatch(any(SimpleMailMessage.class));
+
+        mockMvc.perform(post("/api/notifications/email")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BODY))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "5"))
+                .andExpect(jsonPath("$.status").value(429));
+    }
+}
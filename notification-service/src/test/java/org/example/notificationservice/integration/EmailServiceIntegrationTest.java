@@ -2,16 +2,24 @@ package org.example.notificationservice.integration;
 
 import com.icegreen.greenmail.util.GreenMail;
 import com.icegreen.greenmail.util.ServerSetup;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.notificationservice.service.EmailMessages;
 import org.example.notificationservice.service.EmailService;
+import org.example.notificationservice.service.FailedEmail;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.MailMessage;
+import org.springframework.mail.SimpleMailMessage;
 import org.springframework.test.context.ActiveProfiles;
 
 import jakarta.mail.internet.MimeMessage;
 
+import java.util.List;
+import java.util.stream.IntStream;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -23,13 +31,24 @@ class EmailServiceIntegrationTest {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @BeforeEach
     void setUp() {
+        startGreenMail();
+    }
+
+    private void startGreenMail() {
         greenMail = new GreenMail(new ServerSetup(3025, null, "smtp"));
         greenMail.start();
         greenMail.setUser("test@example.com", "test", "test");
     }
 
+    private double connectionsOpened() {
+        return meterRegistry.counter("notification.email.smtp.connections.opened").count();
+    }
+
     @AfterEach
     void tearDown() {
         if (greenMail != null) {
@@ -105,4 +124,69 @@ class EmailServiceIntegrationTest {
         assertEquals(emails[1], messages[1].getAllRecipients()[0].toString());
         assertEquals(emails[2], messages[2].getAllRecipients()[0].toString());
     }
-}
\ No newline at end of file
+
+    @Test
+    void sendBatch_ManyEmails_SentOverOneConnection() throws Exception {
+        int count = 500;
+        List<SimpleMailMessage> batch = IntStream.range(0, count)
+                .mapToObj(i -> EmailMessages.message("user" + i + "@example.com", "Batch", "Content " + i))
+                .toList();
+        double openedBefore = connectionsOpened();
+
+        List<FailedEmail> failures = emailService.send(batch);
+
+        assertTrue(failures.isEmpty());
+        assertTrue(greenMail.waitForIncomingEmail(10000, count));
+        assertEquals(count, greenMail.getReceivedMessages().length);
+        assertEquals(1, connectionsOpened() - openedBefore);
+    }
+
+    @Test
+    void send_ServerRestarted_RetriedOnFreshConnection() throws Exception {
+        emailService.sendEmail("first@example.com", "Test", "Content");
+        assertTrue(greenMail.waitForIncomingEmail(5000, 1));
+
+        greenMail.stop();
+        startGreenMail();
+        double openedBefore = connectionsOpened();
+
+        emailService.sendEmail("second@example.com", "Test", "Content");
+
+        assertTrue(greenMail.waitForIncomingEmail(5000, 1));
+        assertEquals("second@example.com", greenMail.getReceivedMessages()[0].getAllRecipients()[0].toString());
+        assertEquals(1, connectionsOpened() - openedBefore);
+    }
+
+    @Test
+    void sendBatch_ServerStoppedMidBatch_FailsRemainingEmailsAndRecovers() throws Exception {
+        int count = 10;
+        int stopAt = 4;
+        List<SimpleMailMessage> batch = IntStream.range(0, count)
+                .mapToObj(i -> EmailMessages.message("user" + i + "@example.com", "Batch", "Content " + i))
+                .map(message -> message.getTo()[0].equals("user" + stopAt + "@example.com")
+                        ? stopsServerFirst(message, stopAt) : message)
+                .toList();
+
+        List<FailedEmail> failures = emailService.send(batch);
+
+        assertEquals(count - stopAt, failures.size());
+        for (int i = 0; i < failures.size(); i++) {
+            assertSame(batch.get(stopAt + i), failures.get(i).message());
+        }
+
+        startGreenMail();
+        emailService.sendEmail("after@example.com", "Test", "Content");
+        assertTrue(greenMail.waitForIncomingEmail(5000, 1));
+    }
+
+    private SimpleMailMessage stopsServerFirst(SimpleMailMessage message, int delivered) {
+        return new SimpleMailMessage(message) {
+            @Override
+            public void copyTo(MailMessage target) {
+                assertTrue(greenMail.waitForIncomingEmail(5000, delivered));
+                greenMail.stop();
+                super.copyTo(target);
+            }
+        };
+    }
+}
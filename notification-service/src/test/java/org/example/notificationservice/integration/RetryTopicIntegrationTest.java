@@ -0,0 +1,98 @@
+package org.example.notificationservice.integration;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.example.notificationservice.dto.UserEvent;
+import org.example.notificationservice.kafka.DeadLetterReplayer;
+import org.example.notificationservice.kafka.RetryTopicRouter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * With SMTP down, events go through both retry topics, waiting out each delay, and end up in the DLT;
+ * once SMTP is back a replay delivers them, and the replay group's offsets keep them from going twice.
+ */
+@SpringBootTest(properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "notification.kafka.consumer.mode=BATCH",
+        "notification.kafka.retry.attempts=2",
+        "notification.kafka.retry.initial-delay=2s",
+        "notification.kafka.retry.multiplier=2"
+})
+@ActiveProfiles("test")
+@EmbeddedKafka(partitions = 1,
+        topics = {"user-events", "user-events-retry-1", "user-events-retry-2", "user-events-dlt"})
+class RetryTopicIntegrationTest {
+
+    private static final long RETRY_DELAYS_MS = 2_000 + 4_000;
+
+    @Autowired
+    private KafkaTemplate<String, UserEvent> kafkaTemplate;
+
+    @Autowired
+    private ConsumerFactory<String, UserEvent> consumerFactory;
+
+    @Autowired
+    private DeadLetterReplayer deadLetterReplayer;
+
+    @Test
+    void failedEvents_WaitOutRetryDelaysThenReplayFromDltOnce() throws Exception {
+        long sentAt = System.currentTimeMillis();
+        for (int i = 0; i < 3; i++) {
+            String email = "user" + i + "@example.com";
+            kafkaTemplate.send("user-events", email, new UserEvent("USER_CREATED", email, "User", (long) i, null)).get();
+        }
+
+        List<ConsumerRecord<String, UserEvent>> deadLettered = readDeadLetters(3, Duration.ofSeconds(60));
+        assertEquals(3, deadLettered.size());
+        for (ConsumerRecord<String, UserEvent> record : deadLettered) {
+            assertTrue(record.timestamp() - sentAt >= RETRY_DELAYS_MS,
+                    "dead-lettered after " + (record.timestamp() - sentAt) + " ms");
+            assertEquals("3", header(record, RetryTopicRouter.ATTEMPTS_HEADER));
+            assertEquals("user-events", header(record, KafkaHeaders.DLT_ORIGINAL_TOPIC));
+        }
+
+        GreenMail greenMail = new GreenMail(new ServerSetup(3025, null, "smtp"));
+        greenMail.start();
+        greenMail.setUser("test@example.com", "test", "test");
+        try {
+            assertEquals(3, deadLetterReplayer.replay(1000));
+            assertTrue(greenMail.waitForIncomingEmail(20_000, 3));
+            assertEquals(0, deadLetterReplayer.replay(1000));
+        } finally {
+            greenMail.stop();
+        }
+    }
+
+    private List<ConsumerRecord<String, UserEvent>> readDeadLetters(int expected, Duration timeout) {
+        List<ConsumerRecord<String, UserEvent>> records = new ArrayList<>();
+        try (Consumer<String, UserEvent> consumer = consumerFactory.createConsumer("dlt-probe", "-probe")) {
+            consumer.subscribe(List.of("user-events-dlt"));
+            long deadline = System.currentTimeMillis() + timeout.toMillis();
+            while (records.size() < expected && System.currentTimeMillis() < deadline) {
+                consumer.poll(Duration.ofSeconds(1)).forEach(records::add);
+            }
+        }
+        return records;
+    }
+
+    private static String header(ConsumerRecord<?, ?> record, String name) {
+        return new String(record.headers().lastHeader(name).value(), StandardCharsets.UTF_8);
+    }
+}
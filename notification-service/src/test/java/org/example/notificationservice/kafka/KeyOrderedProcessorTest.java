@@ -0,0 +1,173 @@
+package org.example.notificationservice.kafka;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.example.notificationservice.config.KafkaConsumerProperties;
+import org.example.notificationservice.dto.UserEvent;
+import org.example.notificationservice.exception.EmailSendingException;
+import org.example.notificationservice.service.EmailService;
+import org.example.notificationservice.service.KafkaConsumerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class KeyOrderedProcessorTest {
+
+    private static final TopicPartition PARTITION = new TopicPartition("user-events", 0);
+
+    private KeyOrderedProcessor processor;
+    private MockConsumer<String, String> consumer;
+
+    @BeforeEach
+    void setUp() {
+        KafkaConsumerProperties properties = new KafkaConsumerProperties();
+        properties.setRetryBackoff(Duration.ofMillis(20));
+        processor = new KeyOrderedProcessor(properties, mock(KafkaListenerEndpointRegistry.class),
+                new SimpleMeterRegistry(), new MockEnvironment());
+        consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.assign(List.of(PARTITION));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        processor.shutdown();
+    }
+
+    @Test
+    void submit_SlowKey_OtherKeysProceedAndCommitStopsAtOldestUnfinished() throws Exception {
+        CountDownLatch slowMailbox = new CountDownLatch(1);
+        List<Long> handled = new CopyOnWriteArrayList<>();
+        Consumer<ConsumerRecord<String, String>> handler = record -> {
+            if (record.key().equals("slow@example.com")) {
+                awaitQuietly(slowMailbox);
+            }
+            handled.add(record.offset());
+        };
+
+        processor.submit(List.of(
+                record(0, "slow@example.com"),
+                record(1, "fast@example.com"),
+                record(2, "other@example.com"),
+                record(3, "fast@example.com"),
+                record(4, "slow@example.com")
+        ), consumer, handler);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> handled.size() == 3);
+        assertEquals(List.of(1L, 3L), handled.stream().filter(offset -> offset % 2 == 1).toList());
+        processor.submit(List.of(), consumer, handler);
+        assertEquals(0, committedOffset());
+
+        slowMailbox.countDown();
+        await().atMost(Duration.ofSeconds(5)).until(() -> handled.size() == 5);
+        assertEquals(List.of(0L, 4L), handled.stream().filter(offset -> offset % 4 == 0).toList());
+        processor.submit(List.of(), consumer, handler);
+        assertEquals(5, committedOffset());
+    }
+
+    @Test
+    void submit_RetryTopicUnavailable_RetriesRecordAndHoldsCommitUntilRerouted() {
+        EmailService emailService = mock(EmailService.class);
+        doThrow(new EmailSendingException("SMTP down"))
+                .when(emailService).sendUserCreatedEmail(eq("broken@example.com"), any());
+        RetryTopicRouter router = mock(RetryTopicRouter.class);
+        AtomicBoolean kafkaDown = new AtomicBoolean(true);
+        AtomicInteger reroutes = new AtomicInteger();
+        doAnswer(invocation -> {
+            reroutes.incrementAndGet();
+            if (kafkaDown.get()) {
+                throw new IllegalStateException("Could not publish failed event to user-events");
+            }
+            return null;
+        }).when(router).retryOrDeadLetter(any(), any());
+        KafkaConsumerService service = new KafkaConsumerService(emailService, processor, router, new SimpleMeterRegistry());
+
+        processor.submit(List.of(
+                event(0, "broken@example.com", "First"),
+                event(1, "ok@example.com", "Other"),
+                event(2, "broken@example.com", "Second")
+        ), consumer, service::consumeUserEvent);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> reroutes.get() >= 3);
+        verify(emailService).sendUserCreatedEmail("ok@example.com", "Other");
+        verify(emailService, never()).sendUserCreatedEmail("broken@example.com", "Second");
+        processor.submit(List.of(), consumer, service::consumeUserEvent);
+        assertEquals(0, committedOffset());
+
+        kafkaDown.set(false);
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            processor.submit(List.of(), consumer, service::consumeUserEvent);
+            assertEquals(3, committedOffset());
+        });
+        verify(emailService).sendUserCreatedEmail("broken@example.com", "Second");
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void submit_VirtualThreadsEnabled_HandlesRecordsOnVirtualThreads() throws Exception {
+        KeyOrderedProcessor virtualProcessor = new KeyOrderedProcessor(new KafkaConsumerProperties(),
+                mock(KafkaListenerEndpointRegistry.class), new SimpleMeterRegistry(),
+                new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true"));
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        try {
+            virtualProcessor.submit(List.of(record(0, "a@example.com"), record(1, "b@example.com")), consumer,
+                    record -> threads.add(Thread.currentThread()));
+
+            await().atMost(Duration.ofSeconds(5)).until(() -> threads.size() == 2);
+            for (Thread thread : threads) {
+                assertTrue((Boolean) Thread.class.getMethod("isVirtual").invoke(thread));
+            }
+        } finally {
+            virtualProcessor.shutdown();
+        }
+    }
+
+    private long committedOffset() {
+        return consumer.committed(Set.of(PARTITION)).get(PARTITION).offset();
+    }
+
+    private static ConsumerRecord<String, String> record(long offset, String key) {
+        return new ConsumerRecord<>(PARTITION.topic(), PARTITION.partition(), offset, key, "event");
+    }
+
+    private static ConsumerRecord<String, UserEvent> event(long offset, String email, String userName) {
+        return new ConsumerRecord<>(PARTITION.topic(), PARTITION.partition(), offset, email,
+                new UserEvent("USER_CREATED", email, userName, offset, LocalDateTime.now()));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.notificationservice.kafka;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Headers;
+import org.example.notificationservice.config.KafkaRetryProperties;
+import org.example.notificationservice.dto.UserEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RetryTopicRouterTest {
+
+    @Mock
+    private KafkaTemplate<String, UserEvent> kafkaTemplate;
+
+    private RetryTopicRouter router;
+
+    private final List<ProducerRecord<String, UserEvent>> sent = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        KafkaRetryProperties properties = new KafkaRetryProperties();
+        properties.setAttempts(2);
+        router = new RetryTopicRouter(kafkaTemplate, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void retryOrDeadLetter_WalksRetryTopicsThenDeadLetters() {
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenAnswer(invocation -> {
+            sent.add(invocation.getArgument(0));
+            return CompletableFuture.completedFuture(null);
+        });
+        ConsumerRecord<String, UserEvent> record = new ConsumerRecord<>("user-events", 0, 42L, "a@example.com",
+                new UserEvent("USER_CREATED", "a@example.com", "User", 1L, null));
+
+        long before = System.currentTimeMillis();
+        router.retryOrDeadLetter(record, new IllegalStateException("SMTP down"));
+        ProducerRecord<String, UserEvent> first = sent.get(0);
+        assertEquals("user-events-retry-1", first.topic());
+        assertEquals("a@example.com", first.key());
+        assertEquals("1", header(first.headers(), RetryTopicRouter.ATTEMPTS_HEADER));
+        assertTrue(Long.parseLong(header(first.headers(), RetryTopicRouter.DUE_AT_HEADER)) >= before + 5_000);
+
+        router.retryOrDeadLetter(received(first), new IllegalStateException("SMTP down"));
+        ProducerRecord<String, UserEvent> second = sent.get(1);
+        assertEquals("user-events-retry-2", second.topic());
+
+        router.retryOrDeadLetter(received(second), new IllegalStateException("Still down"));
+        ProducerRecord<String, UserEvent> dead = sent.get(2);
+        assertEquals("user-events-dlt", dead.topic());
+        assertEquals("3", header(dead.headers(), RetryTopicRouter.ATTEMPTS_HEADER));
+        assertNull(dead.headers().lastHeader(RetryTopicRouter.DUE_AT_HEADER));
+        assertEquals("user-events", header(dead.headers(), KafkaHeaders.DLT_ORIGINAL_TOPIC));
+        assertEquals(42L, ByteBuffer.wrap(dead.headers().lastHeader(KafkaHeaders.DLT_ORIGINAL_OFFSET).value()).getLong());
+        assertEquals("java.lang.IllegalStateException", header(dead.headers(), KafkaHeaders.DLT_EXCEPTION_FQCN));
+        assertEquals("Still down", header(dead.headers(), KafkaHeaders.DLT_EXCEPTION_MESSAGE));
+    }
+
+    @Test
+    void delay_GrowsExponentiallyUpToMax() {
+        KafkaRetryProperties properties = new KafkaRetryProperties();
+        properties.setMaxDelay(Duration.ofMinutes(2));
+
+        assertEquals(Duration.ofSeconds(5), properties.delay(1));
+        assertEquals(Duration.ofSeconds(30), properties.delay(2));
+        assertEquals(Duration.ofMinutes(2), properties.delay(3));
+    }
+
+    private static ConsumerRecord<String, UserEvent> received(ProducerRecord<String, UserEvent> sent) {
+        ConsumerRecord<String, UserEvent> record = new ConsumerRecord<>(sent.topic(), 0, 0L, sent.key(), sent.value());
+        sent.headers().forEach(header -> record.headers().add(header));
+        return record;
+    }
+
+    private static String header(Headers headers, String name) {
+        return new String(headers.lastHeader(name).value(), StandardCharsets.UTF_8);
+    }
+}
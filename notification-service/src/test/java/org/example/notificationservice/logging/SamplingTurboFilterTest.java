@@ -0,0 +1,104 @@
+package org.example.notificationservice.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SamplingTurboFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private SamplingTurboFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.DEBUG);
+        filter = new SamplingTurboFilter();
+        filter.setLoggers("org.example.hot, org.example.busy");
+        filter.setRate(3);
+    }
+
+    @Test
+    void decide_SampledLogger_LetsThroughOneInRate() {
+        Logger logger = context.getLogger("org.example.hot");
+
+        assertEquals(List.of(
+                FilterReply.NEUTRAL, FilterReply.DENY, FilterReply.DENY,
+                FilterReply.NEUTRAL, FilterReply.DENY, FilterReply.DENY,
+                FilterReply.NEUTRAL), decideInfo(logger, 7));
+    }
+
+    @Test
+    void decide_ChildLogger_IsSampledWithItsOwnCounter() {
+        Logger child = context.getLogger("org.example.hot.Child");
+        Logger parent = context.getLogger("org.example.hot");
+
+        decideInfo(child, 1);
+
+        assertEquals(FilterReply.DENY, decide(child, Level.INFO, "message"));
+        assertEquals(FilterReply.NEUTRAL, decide(parent, Level.INFO, "message"));
+    }
+
+    @Test
+    void decide_LoggerSharingOnlyANamePrefix_IsNotSampled() {
+        Logger logger = context.getLogger("org.example.hotter");
+
+        assertEquals(List.of(FilterReply.NEUTRAL, FilterReply.NEUTRAL, FilterReply.NEUTRAL), decideInfo(logger, 3));
+    }
+
+    @Test
+    void decide_WarnAndError_AlwaysPass() {
+        Logger logger = context.getLogger("org.example.busy");
+        decideInfo(logger, 1);
+
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.WARN, "message"));
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.ERROR, "message"));
+        assertEquals(FilterReply.DENY, decide(logger, Level.INFO, "message"));
+    }
+
+    @Test
+    void decide_EnabledProbe_DoesNotAdvanceCounter() {
+        Logger logger = context.getLogger("org.example.hot");
+        decideInfo(logger, 1);
+
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.INFO, null));
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.INFO, null));
+        assertEquals(List.of(FilterReply.DENY, FilterReply.DENY, FilterReply.NEUTRAL), decideInfo(logger, 3));
+    }
+
+    @Test
+    void decide_LevelBelowEffectiveLevel_IsLeftToLogback() {
+        Logger logger = context.getLogger("org.example.hot");
+        logger.setLevel(Level.INFO);
+
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.DEBUG, "message"));
+        assertEquals(List.of(FilterReply.NEUTRAL, FilterReply.DENY), decideInfo(logger, 2));
+    }
+
+    @Test
+    void decide_RateOfOne_LetsEverythingThrough() {
+        filter.setRate(1);
+        Logger logger = context.getLogger("org.example.hot");
+
+        assertEquals(List.of(FilterReply.NEUTRAL, FilterReply.NEUTRAL, FilterReply.NEUTRAL), decideInfo(logger, 3));
+    }
+
+    private List<FilterReply> decideInfo(Logger logger, int calls) {
+        List<FilterReply> replies = new ArrayList<>();
+        for (int i = 0; i < calls; i++) {
+            replies.add(decide(logger, Level.INFO, "message {}"));
+        }
+        return replies;
+    }
+
+    private FilterReply decide(Logger logger, Level level, String format) {
+        return filter.decide(null, logger, level, format, null, null);
+    }
+}
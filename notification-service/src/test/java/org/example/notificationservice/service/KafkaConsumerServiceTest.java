@@ -0,0 +1,128 @@
+package org.example.notificationservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.example.notificationservice.dto.UserEvent;
+import org.example.notificationservice.exception.EmailSendingException;
+import org.example.notificationservice.kafka.RetryTopicRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.SimpleMailMessage;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class KafkaConsumerServiceTest {
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private RetryTopicRouter retryTopicRouter;
+
+    private KafkaConsumerService kafkaConsumerService;
+
+    @BeforeEach
+    void setUp() {
+        kafkaConsumerService = new KafkaConsumerService(emailService, null, retryTopicRouter, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void consumeUserEvents_MixedBatch_OneEmailCallPerEventType() {
+        when(emailService.send(anyList())).thenReturn(List.of());
+
+        kafkaConsumerService.consumeUserEvents(List.of(
+                record(0, "USER_CREATED", "a@example.com"),
+                record(1, "USER_UPDATED", "b@example.com"),
+                record(2, "USER_DELETED", "c@example.com"),
+                record(3, "USER_CREATED", "d@example.com"),
+                record(4, "SOMETHING_ELSE", "e@example.com")
+        ));
+
+        ArgumentCaptor<List<SimpleMailMessage>> batches = ArgumentCaptor.forClass(List.class);
+        verify(emailService, times(2)).send(batches.capture());
+
+        List<SimpleMailMessage> created = batches.getAllValues().get(0);
+        assertEquals(2, created.size());
+        assertArrayEquals(new String[]{"a@example.com"}, created.get(0).getTo());
+        assertArrayEquals(new String[]{"d@example.com"}, created.get(1).getTo());
+        assertEquals("Аккаунт успешно создан", created.get(0).getSubject());
+
+        List<SimpleMailMessage> deleted = batches.getAllValues().get(1);
+        assertEquals(1, deleted.size());
+        assertEquals("Аккаунт удален", deleted.get(0).getSubject());
+        verifyNoInteractions(retryTopicRouter);
+    }
+
+    @Test
+    void consumeUserEvents_FailedSend_OnlyThatEventGoesToRetry() {
+        ConsumerRecord<String, UserEvent> ok = record(0, "USER_CREATED", "a@example.com");
+        ConsumerRecord<String, UserEvent> failing = record(1, "USER_CREATED", "b@example.com");
+        EmailSendingException error = new EmailSendingException("Mailbox unavailable");
+        when(emailService.send(anyList())).thenAnswer(invocation -> {
+            List<SimpleMailMessage> messages = invocation.getArgument(0);
+            return List.of(new FailedEmail(messages.get(1), error));
+        });
+
+        kafkaConsumerService.consumeUserEvents(List.of(ok, failing));
+
+        verify(retryTopicRouter).retryOrDeadLetter(failing, error);
+        verify(retryTopicRouter, times(1)).retryOrDeadLetter(any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void consumeUserEvents_RerouteFails_RedeliveredPollOnlyRetriesUnroutedEvent() {
+        ConsumerRecord<String, UserEvent> ok = record(0, "USER_CREATED", "a@example.com");
+        ConsumerRecord<String, UserEvent> failing = record(1, "USER_CREATED", "b@example.com");
+        List<ConsumerRecord<String, UserEvent>> poll = List.of(ok, failing);
+        EmailSendingException error = new EmailSendingException("Mailbox unavailable");
+        when(emailService.send(anyList())).thenAnswer(invocation -> {
+            List<SimpleMailMessage> messages = invocation.getArgument(0);
+            return List.of(new FailedEmail(messages.get(messages.size() - 1), error));
+        });
+        doThrow(new IllegalStateException("Broker unavailable")).doNothing()
+                .when(retryTopicRouter).retryOrDeadLetter(failing, error);
+
+        assertThrows(IllegalStateException.class, () -> kafkaConsumerService.consumeUserEvents(poll));
+        kafkaConsumerService.consumeUserEvents(poll);
+
+        ArgumentCaptor<List<SimpleMailMessage>> batches = ArgumentCaptor.forClass(List.class);
+        verify(emailService, times(2)).send(batches.capture());
+        assertEquals(2, batches.getAllValues().get(0).size());
+        assertEquals(1, batches.getAllValues().get(1).size());
+        assertArrayEquals(new String[]{"b@example.com"}, batches.getAllValues().get(1).get(0).getTo());
+        verify(retryTopicRouter, times(2)).retryOrDeadLetter(failing, error);
+    }
+
+    @Test
+    void consumeUserEvent_SendFails_PassedToRetryInsteadOfSwallowed() {
+        ConsumerRecord<String, UserEvent> record = record(0, "USER_DELETED", "a@example.com");
+        EmailSendingException error = new EmailSendingException("SMTP server unavailable");
+        doThrow(error).when(emailService).sendUserDeletedEmail("a@example.com", "User");
+
+        kafkaConsumerService.consumeUserEvent(record);
+
+        verify(retryTopicRouter).retryOrDeadLetter(record, error);
+    }
+
+    private static ConsumerRecord<String, UserEvent> record(long offset, String type, String email) {
+        return new ConsumerRecord<>("user-events", 0, offset, email, new UserEvent(type, email, "User", 1L, null));
+    }
+}
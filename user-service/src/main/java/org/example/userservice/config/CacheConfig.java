@@ -0,0 +1,13 @@
+package org.example.userservice.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(EmailFilterProperties.class)
+public class CacheConfig {
+
+    public static final String USERS_CACHE = "users";
+}
@@ -0,0 +1,15 @@
+package org.example.userservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "user-service.email-filter")
+public class EmailFilterProperties {
+    private boolean enabled = true;
+    private long expectedInsertions = 5_000_000;
+    private double falsePositiveRate = 0.01;
+    // The filter is rebuilt from the table once deletes and growth push it past this rate
+    private double maxFalsePositiveRate = 0.05;
+    private int fetchSize = 10_000;
+}
@@ -0,0 +1,48 @@
+package org.example.userservice.config;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(KafkaProducerProperties.class)
+public class KafkaProducerConfig {
+
+    private static final int MAX_REQUEST_TIMEOUT_MS = 30_000;
+
+    @Bean
+    public DefaultKafkaProducerFactoryCustomizer producerTuningCustomizer(KafkaProducerProperties properties) {
+        return producerFactory -> producerFactory.updateConfigs(producerConfigs(properties));
+    }
+
+    static Map<String, Object> producerConfigs(KafkaProducerProperties properties) {
+        ProducerProfile profile = properties.getProfile();
+        Map<String, Object> configs = new HashMap<>();
+
+        int lingerMs = properties.getLingerMs() != null ? properties.getLingerMs() : profile.getLingerMs();
+        int batchSize = properties.getBatchSize() != null ? properties.getBatchSize() : profile.getBatchSize();
+        String compressionType = properties.getCompressionType() != null
+                ? properties.getCompressionType()
+                : profile.getCompressionType();
+
+        configs.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        configs.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        configs.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+
+        configs.put(ProducerConfig.ACKS_CONFIG, properties.getAcks());
+        configs.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, "all".equals(properties.getAcks()));
+
+        // delivery.timeout.ms must cover linger.ms + request.timeout.ms or the producer refuses to start
+        int deliveryTimeoutMs = (int) properties.getDeliveryTimeout().toMillis();
+        configs.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, (int) properties.getMaxBlock().toMillis());
+        configs.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, deliveryTimeoutMs);
+        configs.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG,
+                Math.min(MAX_REQUEST_TIMEOUT_MS, deliveryTimeoutMs - lingerMs));
+        return configs;
+    }
+}
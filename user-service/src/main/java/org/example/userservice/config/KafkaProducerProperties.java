@@ -0,0 +1,21 @@
+package org.example.userservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "user-service.kafka.producer")
+public class KafkaProducerProperties {
+    private ProducerProfile profile = ProducerProfile.BALANCED;
+
+    // Explicit values take precedence over the profile defaults
+    private Integer lingerMs;
+    private Integer batchSize;
+    private String compressionType;
+
+    private String acks = "all";
+    private Duration maxBlock = Duration.ofSeconds(1);
+    private Duration deliveryTimeout = Duration.ofSeconds(60);
+}
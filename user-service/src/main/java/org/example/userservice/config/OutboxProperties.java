@@ -0,0 +1,16 @@
+package org.example.userservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "user-service.outbox")
+public class OutboxProperties {
+    private int batchSize = 500;
+    private Duration sendTimeout = Duration.ofSeconds(75);
+    // Must outlast send-timeout, otherwise another instance can take over while a batch is in flight
+    private Duration leaseTimeout = Duration.ofMinutes(2);
+    private Duration retention = Duration.ofDays(1);
+}
@@ -0,0 +1,16 @@
+package org.example.userservice.config;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum ProducerProfile {
+    LOW_LATENCY(0, 16 * 1024, "none"),
+    BALANCED(5, 64 * 1024, "lz4"),
+    THROUGHPUT(20, 256 * 1024, "zstd");
+
+    private final int lingerMs;
+    private final int batchSize;
+    private final String compressionType;
+}
@@ -0,0 +1,23 @@
+package org.example.userservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "user-service.datasource.replicas")
+public class ReplicaProperties {
+    private List<String> urls = new ArrayList<>();
+
+    // Fall back to spring.datasource.username/password when not set
+    private String username;
+    private String password;
+
+    private int maximumPoolSize = 10;
+    private Duration connectionTimeout = Duration.ofSeconds(2);
+    private Duration maxLag = Duration.ofSeconds(30);
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+}
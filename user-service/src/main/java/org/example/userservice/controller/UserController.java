@@ -1,22 +1,38 @@
 package org.example.userservice.controller;
 
+import org.example.userservice.dto.UserBatchItemResult;
+import org.example.userservice.dto.UserBatchUpdateRequest;
+import org.example.userservice.dto.UserPage;
 import org.example.userservice.dto.UserRequest;
 import org.example.userservice.dto.UserResponse;
+import org.example.userservice.dto.UserSearchCriteria;
+import org.example.userservice.dto.UserSearchPage;
 import org.example.userservice.dto.UserUpdateRequest;
+import org.example.userservice.exception.InvalidBatchException;
+import org.example.userservice.exception.PreconditionFailedException;
 import org.example.userservice.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
 public class UserController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final int MAX_BATCH_SIZE = 1000;
+
     private final UserService userService;
 
     @PostMapping
@@ -25,16 +41,54 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<UserBatchItemResult>> createUsers(@RequestBody List<UserRequest> userRequests) {
+        checkBatch(userRequests);
+        List<UserBatchItemResult> results = userService.createUsers(userRequests);
+        return ResponseEntity.ok(results);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<UserResponse> getUserById(@PathVariable Long id) {
+    public ResponseEntity<UserResponse> getUserById(@PathVariable Long id, WebRequest request) {
+        // Validators come from the cached response, so a cache hit answers 304 without touching the database
         UserResponse user = userService.getUserById(id);
-        return ResponseEntity.ok(user);
+        if (user.getVersion() != null && request.checkNotModified(
+                String.valueOf(user.getVersion()), toEpochMilli(user.getUpdatedAt()))) {
+            return null;
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (user.getVersion() != null) {
+            response.eTag(String.valueOf(user.getVersion()));
+        }
+        if (user.getUpdatedAt() != null) {
+            response.lastModified(toEpochMilli(user.getUpdatedAt()));
+        }
+        return response.body(user);
     }
 
     @GetMapping
-    public ResponseEntity<List<UserResponse>> getAllUsers() {
-        List<UserResponse> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<List<UserResponse>> getUsers(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "100") int limit) {
+        UserPage page = userService.getUsers(after, limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(page.getNextCursor()));
+        }
+        return response.body(page.getContent());
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<UserResponse>> searchUsers(@Valid UserSearchCriteria criteria) {
+        UserSearchPage page = userService.searchUsers(criteria);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getContent());
     }
 
     @PutMapping("/{id}")
@@ -45,9 +99,74 @@ public class UserController {
         return ResponseEntity.ok(updatedUser);
     }
 
+    @PatchMapping("/batch")
+    public ResponseEntity<List<UserBatchItemResult>> updateUsers(
+            @RequestBody List<UserBatchUpdateRequest> updateRequests) {
+        checkBatch(updateRequests);
+        List<UserBatchItemResult> results = userService.updateUsers(updateRequests);
+        return ResponseEntity.ok(results);
+    }
+
+    @PatchMapping("/{id}")
+    public ResponseEntity<UserResponse> patchUser(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody UserUpdateRequest updateRequest) {
+        UserResponse updatedUser = userService.updateUser(id, updateRequest, parseIfMatch(ifMatch));
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (updatedUser.getVersion() != null) {
+            response.eTag(String.valueOf(updatedUser.getVersion()));
+        }
+        return response.body(updatedUser);
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<List<UserBatchItemResult>> deleteUsers(@RequestBody List<Long> ids) {
+        checkBatchSize(ids);
+        List<UserBatchItemResult> results = userService.deleteUsers(ids);
+        return ResponseEntity.ok(results);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
         userService.deleteUser(id);
         return ResponseEntity.noContent().build();
     }
+
+    private static void checkBatch(List<?> items) {
+        checkBatchSize(items);
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i) == null) {
+                throw new InvalidBatchException("Batch item " + i + " is null");
+            }
+        }
+    }
+
+    // A null id is reported per item by the service, so delete batches only get the size check
+    private static void checkBatchSize(List<?> items) {
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new InvalidBatchException(String.format(
+                    "Batch of %d items exceeds the maximum of %d", items.size(), MAX_BATCH_SIZE));
+        }
+    }
+
+    private static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        try {
+            return Long.valueOf(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match does not match any version: " + ifMatch);
+        }
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package org.example.userservice.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.userservice.dto.UserDataFormat;
+import org.example.userservice.service.UserExportService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/users/export")
+@RequiredArgsConstructor
+public class UserExportController {
+
+    private final UserExportService userExportService;
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(defaultValue = "NDJSON") UserDataFormat format) {
+        StreamingResponseBody body = out -> userExportService.exportUsers(format, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("users." + format.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.userservice.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.userservice.dto.UserDataFormat;
+import org.example.userservice.dto.UserImportReport;
+import org.example.userservice.service.UserImportService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/users/import")
+@RequiredArgsConstructor
+public class UserImportController {
+
+    private final UserImportService userImportService;
+
+    @PostMapping(consumes = "text/csv")
+    public ResponseEntity<UserImportReport> importCsv(
+            InputStream body,
+            @RequestParam(defaultValue = "false") boolean events) {
+        return ResponseEntity.ok(userImportService.importUsers(UserDataFormat.CSV, body, events));
+    }
+
+    @PostMapping(consumes = "application/x-ndjson")
+    public ResponseEntity<UserImportReport> importNdjson(
+            InputStream body,
+            @RequestParam(defaultValue = "false") boolean events) {
+        return ResponseEntity.ok(userImportService.importUsers(UserDataFormat.NDJSON, body, events));
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.userservice.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+@Slf4j
+public class ReplicaHealthChecker {
+
+    // A replica that has replayed everything it received is caught up, however old its last replayed
+    // commit is; otherwise an idle primary would show up as growing lag
+    static final String LAG_SQL = """
+            SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0
+                        WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END
+            """;
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final Duration maxLag;
+
+    public ReplicaHealthChecker(ReplicaRoutingDataSource routingDataSource, Duration maxLag,
+                                MeterRegistry meterRegistry) {
+        this.routingDataSource = routingDataSource;
+        this.maxLag = maxLag;
+
+        Gauge.builder("user.datasource.replicas.healthy", routingDataSource, ReplicaRoutingDataSource::getHealthyCount)
+                .description("Replicas currently serving read-only transactions")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${user-service.datasource.replicas.health-check-interval-ms:5000}")
+    public void check() {
+        routingDataSource.getReplicas().forEach((name, replica) ->
+                routingDataSource.markHealthy(name, isHealthy(name, replica)));
+    }
+
+    private boolean isHealthy(String name, DataSource replica) {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(LAG_SQL)) {
+            rs.next();
+            long lagMillis = rs.getLong(1);
+            if (lagMillis > maxLag.toMillis()) {
+                log.warn("Replica {} is {} ms behind the primary", name, lagMillis);
+                return false;
+            }
+            return true;
+        } catch (SQLException e) {
+            log.warn("Health check failed for replica {}: {}", name, e.getMessage());
+            return false;
+        }
+    }
+}
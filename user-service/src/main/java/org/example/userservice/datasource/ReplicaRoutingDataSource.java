@@ -0,0 +1,99 @@
+package org.example.userservice.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out connections for read-only transactions: round-robin over the replicas that
+ * passed their last health check, or the primary when none did, when the request is
+ * pinned by {@link ReadYourWritesContext}, or when the chosen replica refuses a connection.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final List<String> replicaNames;
+    private final Set<String> healthy = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.replicaNames = new ArrayList<>(replicas.keySet());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    public Map<String, DataSource> getReplicas() {
+        return replicas;
+    }
+
+    public int getHealthyCount() {
+        return healthy.size();
+    }
+
+    public void markHealthy(String replica, boolean up) {
+        boolean changed = up ? healthy.add(replica) : healthy.remove(replica);
+        if (changed) {
+            log.info("Replica {} is now {}", replica, up ? "in rotation" : "out of rotation");
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private Connection route(ConnectionOpener opener) throws SQLException {
+        String replica = ReadYourWritesContext.isPinnedToPrimary() ? null : nextHealthyReplica();
+        if (replica == null) {
+            return opener.open(primary);
+        }
+        try {
+            return opener.open(replicas.get(replica));
+        } catch (SQLException e) {
+            log.warn("Replica {} refused a connection, reading from primary", replica, e);
+            markHealthy(replica, false);
+            return opener.open(primary);
+        }
+    }
+
+    private String nextHealthyReplica() {
+        int size = replicaNames.size();
+        for (int i = 0; i < size; i++) {
+            String replica = replicaNames.get(Math.floorMod(next.getAndIncrement(), size));
+            if (healthy.contains(replica)) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    @FunctionalInterface
+    private interface ConnectionOpener {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+}
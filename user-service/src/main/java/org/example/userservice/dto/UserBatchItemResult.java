@@ -0,0 +1,17 @@
+package org.example.userservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserBatchItemResult {
+    private int index;
+    private BatchItemStatus status;
+    private UserResponse user;
+    private String message;
+}
@@ -0,0 +1,12 @@
+package org.example.userservice.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class UserBatchUpdateRequest extends UserUpdateRequest {
+    @NotNull(message = "Id cannot be null")
+    private Long id;
+}
@@ -0,0 +1,21 @@
+package org.example.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportReport {
+    private long received;
+    private long invalid;
+    private long duplicates;
+    private long imported;
+    private long eventsQueued;
+    private long elapsedMs;
+    private long rowsPerSecond;
+    private List<String> errors;
+}
@@ -1,13 +1,25 @@
 package org.example.userservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
+
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class UserResponse {
     private Long id;
     private String name;
     private String email;
     private int age;
     private LocalDateTime createdAt;
+
+    @JsonIgnore
+    private LocalDateTime updatedAt;
+
+    @JsonIgnore
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package org.example.userservice.dto;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import org.springframework.data.domain.Sort;
+
+@Data
+public class UserSearchCriteria {
+    @Size(max = 100, message = "Name prefix must be at most 100 characters")
+    private String namePrefix;
+
+    @Pattern(regexp = "[A-Za-z0-9.-]+", message = "Email domain should be valid")
+    private String emailDomain;
+
+    @Min(value = 0, message = "Age cannot be negative")
+    @Max(value = 120, message = "Age cannot be more than 120")
+    private Integer minAge;
+
+    @Min(value = 0, message = "Age cannot be negative")
+    @Max(value = 120, message = "Age cannot be more than 120")
+    private Integer maxAge;
+
+    private UserSearchSort sort = UserSearchSort.ID;
+    private Sort.Direction direction = Sort.Direction.ASC;
+    private String cursor;
+    private int limit = 100;
+
+    @AssertTrue(message = "minAge cannot be greater than maxAge")
+    public boolean isAgeRangeValid() {
+        return minAge == null || maxAge == null || minAge <= maxAge;
+    }
+}
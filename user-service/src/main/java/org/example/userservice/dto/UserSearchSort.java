@@ -0,0 +1,8 @@
+package org.example.userservice.dto;
+
+public enum UserSearchSort {
+    ID,
+    NAME,
+    AGE,
+    CREATED_AT
+}
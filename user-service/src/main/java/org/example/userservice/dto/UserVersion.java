@@ -0,0 +1,15 @@
+package org.example.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserVersion {
+    private Long version;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,130 @@
+package org.example.userservice.messaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.userservice.config.OutboxProperties;
+import org.example.userservice.entity.OutboxEvent;
+import org.example.userservice.event.UserEvent;
+import org.example.userservice.repository.OutboxEventRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Profile("!reactive")
+@Slf4j
+public class OutboxRelay {
+
+    static final String LEASE_NAME = "user-events";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final UserEventProducer userEventProducer;
+    private final OutboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final String owner = UUID.randomUUID().toString();
+
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter relayedEvents;
+    private final Counter failedBatches;
+    private final Timer batchTimer;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       UserEventProducer userEventProducer,
+                       OutboxProperties properties,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.userEventProducer = userEventProducer;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Gauge.builder("outbox.relay.lag", lagMillis, AtomicLong::get)
+                .description("Age of the oldest event in the last drained outbox batch")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        this.relayedEvents = Counter.builder("outbox.relay.events")
+                .description("Outbox events published to Kafka")
+                .register(meterRegistry);
+        this.failedBatches = Counter.builder("outbox.relay.failures")
+                .description("Outbox batches that failed to publish and will be retried")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.relay.batch")
+                .description("Time to publish and mark one outbox batch")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${user-service.outbox.relay-interval-ms:500}")
+    public void relay() {
+        try {
+            int relayed;
+            do {
+                relayed = batchTimer.record(this::relayBatch);
+            } while (relayed == properties.getBatchSize());
+        } catch (Exception e) {
+            failedBatches.increment();
+            log.error("Failed to relay outbox events, will retry", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${user-service.outbox.purge-interval-ms:3600000}")
+    public void purgeSent() {
+        LocalDateTime before = LocalDateTime.now().minus(properties.getRetention());
+        Integer purged = transactionTemplate.execute(status -> outboxEventRepository.deleteSentBefore(before));
+        log.debug("Purged {} sent outbox events", purged);
+    }
+
+    @PreDestroy
+    public void releaseLease() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> outboxEventRepository.releaseLease(LEASE_NAME, owner));
+        } catch (Exception e) {
+            log.warn("Failed to release the outbox relay lease", e);
+        }
+    }
+
+    // Only the lease holder relays, so there is one publisher at a time. Batches go out in id order,
+    // which is not creation or commit order: every instance draws ids from its own pooled block of 50,
+    // so events written on different instances can be published out of order. The batch is read in
+    // a short transaction and published with no rows locked and no connection held; a relay that dies
+    // before markSent leaves the batch to be published again by the next lease holder.
+    private int relayBatch() {
+        List<OutboxEvent> batch = transactionTemplate.execute(status ->
+                outboxEventRepository.tryAcquireLease(LEASE_NAME, owner, properties.getLeaseTimeout().toSeconds()) > 0
+                        ? outboxEventRepository.findUnsent(properties.getBatchSize())
+                        : List.of());
+        if (batch.isEmpty()) {
+            lagMillis.set(0);
+            return 0;
+        }
+        lagMillis.set(Duration.between(batch.get(0).getCreatedAt(), LocalDateTime.now()).toMillis());
+
+        List<UserEvent> events = batch.stream()
+                .map(UserEventOutbox::toUserEvent)
+                .toList();
+        try {
+            userEventProducer.sendUserEvents(events)
+                    .get(properties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException("Kafka did not acknowledge outbox batch", e);
+        }
+
+        List<Long> ids = batch.stream().map(OutboxEvent::getId).toList();
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.markSent(ids, LocalDateTime.now()));
+        relayedEvents.increment(events.size());
+        log.debug("Relayed {} outbox events", events.size());
+        return events.size();
+    }
+}
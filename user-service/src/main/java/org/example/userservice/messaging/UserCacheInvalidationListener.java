@@ -0,0 +1,160 @@
+package org.example.userservice.messaging;
+
+import org.example.userservice.config.CacheConfig;
+import org.example.userservice.event.UserEvent;
+import org.example.userservice.repository.EmailExistenceFilter;
+import org.example.userservice.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.PartitionInfo;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.config.KafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.TopicPartitionOffset;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Every node must see every user event, so partitions are assigned directly instead of
+ * subscribing through a consumer group: no group is joined, no offsets are committed, and a
+ * restarted node starts from the latest offset. Partitions are looked up in the background so
+ * the service still starts while Kafka is unreachable.
+ */
+@Component
+@Slf4j
+public class UserCacheInvalidationListener implements SmartLifecycle {
+
+    private final CacheManager cacheManager;
+    // Absent under the reactive profile, which has no JPA
+    private final ObjectProvider<UserRepository> userRepository;
+    private final ObjectProvider<EmailExistenceFilter> emailFilter;
+    private final ConsumerFactory<?, ?> consumerFactory;
+    private final KafkaListenerContainerFactory<?> containerFactory;
+    private final Duration discoveryTimeout;
+
+    private volatile Thread starter;
+    private volatile MessageListenerContainer container;
+    private volatile boolean running;
+
+    public UserCacheInvalidationListener(CacheManager cacheManager,
+                                         ObjectProvider<UserRepository> userRepository,
+                                         ObjectProvider<EmailExistenceFilter> emailFilter,
+                                         ConsumerFactory<?, ?> consumerFactory,
+                                         KafkaListenerContainerFactory<?> containerFactory,
+                                         @Value("${user-service.cache.invalidation.discovery-timeout:30s}")
+                                         Duration discoveryTimeout) {
+        this.cacheManager = cacheManager;
+        this.userRepository = userRepository;
+        this.emailFilter = emailFilter;
+        this.consumerFactory = consumerFactory;
+        this.containerFactory = containerFactory;
+        this.discoveryTimeout = discoveryTimeout;
+    }
+
+    public void onUserEvent(UserEvent event) {
+        if (event.getUserId() == null) {
+            return;
+        }
+
+        // Emails written by other instances reach this node's filter only through here
+        if (event.getEmail() != null && !"USER_DELETED".equals(event.getEventType())) {
+            emailFilter.ifAvailable(filter -> filter.put(event.getEmail()));
+        }
+
+        switch (event.getEventType()) {
+            case "USER_UPDATED", "USER_DELETED" -> {
+                Cache cache = cacheManager.getCache(CacheConfig.USERS_CACHE);
+                if (cache != null) {
+                    cache.evict(event.getUserId());
+                    log.debug("Evicted cached user with id: {}", event.getUserId());
+                }
+                userRepository.ifAvailable(repository ->
+                        repository.evictFromSecondLevelCache(List.of(event.getUserId())));
+            }
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        starter = new Thread(this::assignPartitions, "user-cache-invalidation-starter");
+        starter.setDaemon(true);
+        starter.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        Thread thread = starter;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        MessageListenerContainer current = container;
+        if (current != null) {
+            current.stop();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void assignPartitions() {
+        while (running) {
+            try {
+                List<PartitionInfo> partitions;
+                try (Consumer<?, ?> consumer = consumerFactory.createConsumer()) {
+                    partitions = consumer.partitionsFor(UserEventProducer.TOPIC, discoveryTimeout);
+                }
+                if (partitions != null && !partitions.isEmpty()) {
+                    startContainer(partitions);
+                    return;
+                }
+                log.warn("Topic {} has no partitions yet, retrying", UserEventProducer.TOPIC);
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Failed to look up partitions of {}, retrying: {}", UserEventProducer.TOPIC, e.toString());
+            }
+            try {
+                Thread.sleep(discoveryTimeout.toMillis());
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private synchronized void startContainer(List<PartitionInfo> partitions) {
+        if (!running) {
+            return;
+        }
+        TopicPartitionOffset[] assignment = partitions.stream()
+                .map(partition -> new TopicPartitionOffset(partition.topic(), partition.partition()))
+                .toArray(TopicPartitionOffset[]::new);
+
+        Properties consumerProperties = new Properties();
+        consumerProperties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        consumerProperties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+
+        MessageListenerContainer created = containerFactory.createContainer(assignment);
+        created.getContainerProperties().setKafkaConsumerProperties(consumerProperties);
+        created.setupMessageListener((MessageListener<String, UserEvent>) record -> onUserEvent(record.value()));
+        created.start();
+        container = created;
+        log.info("Assigned {} partitions of {} for cache invalidation", assignment.length, UserEventProducer.TOPIC);
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.userservice.messaging;
+
+import org.example.userservice.entity.OutboxEvent;
+import org.example.userservice.event.UserEvent;
+import org.example.userservice.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Component
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class UserEventOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(UserEvent event) {
+        outboxEventRepository.save(toOutboxEvent(event));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(List<UserEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        outboxEventRepository.saveAll(events.stream()
+                .map(UserEventOutbox::toOutboxEvent)
+                .toList());
+    }
+
+    static UserEvent toUserEvent(OutboxEvent outboxEvent) {
+        return new UserEvent(
+                outboxEvent.getEventType(),
+                outboxEvent.getEmail(),
+                outboxEvent.getUserName(),
+                outboxEvent.getUserId(),
+                outboxEvent.getOccurredAt()
+        );
+    }
+
+    private static OutboxEvent toOutboxEvent(UserEvent event) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setEventType(event.getEventType());
+        outboxEvent.setEmail(event.getEmail());
+        outboxEvent.setUserName(event.getUserName());
+        outboxEvent.setUserId(event.getUserId());
+        outboxEvent.setOccurredAt(event.getTimestamp());
+        return outboxEvent;
+    }
+}
@@ -1,21 +1,78 @@
 package org.example.userservice.messaging;
 
-import org.example.userservice.event.UserEvent;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.example.userservice.event.UserEvent;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class UserEventProducer {
 
+    public static final String TOPIC = "user-events";
+
     private final KafkaTemplate<String, UserEvent> kafkaTemplate;
-    private static final String TOPIC = "user-events";
+    private final Timer deliveredTimer;
+    private final Timer failedTimer;
+    private final Counter failures;
+
+    public UserEventProducer(KafkaTemplate<String, UserEvent> kafkaTemplate, MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.deliveredTimer = deliveryTimer(meterRegistry, "success");
+        this.failedTimer = deliveryTimer(meterRegistry, "failure");
+        this.failures = Counter.builder("user.events.send.failures")
+                .description("User events the broker did not acknowledge")
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<SendResult<String, UserEvent>> sendUserEvent(UserEvent event) {
+        long start = System.nanoTime();
+        CompletableFuture<SendResult<String, UserEvent>> result;
+        try {
+            result = kafkaTemplate.send(TOPIC, event.getEmail(), event);
+        } catch (Exception e) {
+            // send() throws when the buffer stays full past max.block.ms; report it like any other failure
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.whenComplete((sendResult, ex) -> onCompletion(event, start, ex));
+    }
+
+    public CompletableFuture<Void> sendUserEvents(List<UserEvent> events) {
+        if (log.isDebugEnabled()) {
+            log.debug("Sending {} user events", events.size());
+        }
+        CompletableFuture<?>[] results = new CompletableFuture<?>[events.size()];
+        for (int i = 0; i < events.size(); i++) {
+            results[i] = sendUserEvent(events.get(i));
+        }
+        return CompletableFuture.allOf(results);
+    }
+
+    private void onCompletion(UserEvent event, long start, Throwable ex) {
+        long elapsed = System.nanoTime() - start;
+        if (ex == null) {
+            deliveredTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            return;
+        }
+        failedTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        failures.increment();
+        log.warn("Failed to deliver user event: {} for email: {}", event.getEventType(), event.getEmail(), ex);
+    }
 
-    public void sendUserEvent(UserEvent event) {
-        log.info("Sending user event: {} for email: {}", event.getEventType(), event.getEmail());
-        kafkaTemplate.send(TOPIC, event.getEmail(), event);
+    private static Timer deliveryTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("user.events.send")
+                .description("Time from send() until the broker acknowledged or rejected a user event")
+                .tag("topic", TOPIC)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
-}
\ No newline at end of file
+}
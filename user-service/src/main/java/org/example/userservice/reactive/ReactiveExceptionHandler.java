@@ -0,0 +1,67 @@
+package org.example.userservice.reactive;
+
+import org.example.userservice.exception.ErrorResponse;
+import org.example.userservice.exception.ResourceNotFoundException;
+import org.example.userservice.exception.UserAlreadyExistsException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestControllerAdvice
+@Profile("reactive")
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleResourceNotFound(ResourceNotFoundException ex,
+                                                                ServerHttpRequest request) {
+        return error(HttpStatus.NOT_FOUND, "Resource Not Found", ex.getMessage(), request);
+    }
+
+    @ExceptionHandler({UserAlreadyExistsException.class, DuplicateKeyException.class})
+    public ResponseEntity<ErrorResponse> handleUserAlreadyExists(RuntimeException ex,
+                                                                 ServerHttpRequest request) {
+        String message = ex instanceof UserAlreadyExistsException
+                ? ex.getMessage()
+                : "User with this email already exists";
+        return error(HttpStatus.CONFLICT, "Conflict", message, request);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, String>> handleValidationExceptions(WebExchangeBindException ex) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getAllErrors().forEach(error -> {
+            String fieldName = ((FieldError) error).getField();
+            String errorMessage = error.getDefaultMessage();
+            errors.put(fieldName, errorMessage);
+        });
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGenericException(Exception ex, ServerHttpRequest request) {
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error",
+                "An unexpected error occurred", request);
+    }
+
+    private static ResponseEntity<ErrorResponse> error(HttpStatus status, String error, String message,
+                                                       ServerHttpRequest request) {
+        ErrorResponse body = new ErrorResponse(
+                LocalDateTime.now(),
+                status.value(),
+                error,
+                message,
+                request.getPath().value()
+        );
+        return ResponseEntity.status(status).body(body);
+    }
+}
@@ -0,0 +1,172 @@
+package org.example.userservice.reactive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.Readable;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.userservice.config.OutboxProperties;
+import org.example.userservice.event.UserEvent;
+import org.example.userservice.messaging.UserEventProducer;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the events {@link ReactiveUserRepository} writes to the outbox, with the same lease as
+ * the blocking relay so that only one instance of either kind relays at a time. Runs on the scheduler
+ * thread, never on the event loop, so it blocks on each step.
+ */
+@Component
+@Profile("reactive")
+@Slf4j
+public class ReactiveOutboxRelay {
+
+    static final String LEASE_NAME = "user-events";
+
+    private final DatabaseClient databaseClient;
+    private final UserEventProducer userEventProducer;
+    private final OutboxProperties properties;
+    private final String owner = UUID.randomUUID().toString();
+
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter relayedEvents;
+    private final Counter failedBatches;
+
+    public ReactiveOutboxRelay(DatabaseClient databaseClient,
+                               UserEventProducer userEventProducer,
+                               OutboxProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.databaseClient = databaseClient;
+        this.userEventProducer = userEventProducer;
+        this.properties = properties;
+
+        Gauge.builder("outbox.relay.lag", lagMillis, AtomicLong::get)
+                .description("Age of the oldest event in the last drained outbox batch")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        this.relayedEvents = Counter.builder("outbox.relay.events")
+                .description("Outbox events published to Kafka")
+                .register(meterRegistry);
+        this.failedBatches = Counter.builder("outbox.relay.failures")
+                .description("Outbox batches that failed to publish and will be retried")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${user-service.outbox.relay-interval-ms:500}")
+    public void relay() {
+        try {
+            int relayed;
+            do {
+                relayed = relayBatch();
+            } while (relayed == properties.getBatchSize());
+        } catch (Exception e) {
+            failedBatches.increment();
+            log.error("Failed to relay outbox events, will retry", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${user-service.outbox.purge-interval-ms:3600000}")
+    public void purgeSent() {
+        Long purged = databaseClient.sql("DELETE FROM user_service.user_event_outbox WHERE sent_at < :before")
+                .bind("before", LocalDateTime.now().minus(properties.getRetention()))
+                .fetch()
+                .rowsUpdated()
+                .block();
+        log.debug("Purged {} sent outbox events", purged);
+    }
+
+    @PreDestroy
+    public void releaseLease() {
+        try {
+            databaseClient.sql("DELETE FROM user_service.outbox_relay_lease WHERE name = :name AND owner = :owner")
+                    .bind("name", LEASE_NAME)
+                    .bind("owner", owner)
+                    .then()
+                    .block();
+        } catch (Exception e) {
+            log.warn("Failed to release the outbox relay lease", e);
+        }
+    }
+
+    int relayBatch() {
+        if (!tryAcquireLease()) {
+            lagMillis.set(0);
+            return 0;
+        }
+        List<OutboxRow> batch = databaseClient.sql("""
+                        SELECT id, event_type, email, user_name, user_id, occurred_at, created_at
+                        FROM user_service.user_event_outbox
+                        WHERE sent_at IS NULL
+                        ORDER BY id
+                        LIMIT :limit
+                        """)
+                .bind("limit", properties.getBatchSize())
+                .map(ReactiveOutboxRelay::toRow)
+                .all()
+                .collectList()
+                .block();
+        if (batch == null || batch.isEmpty()) {
+            lagMillis.set(0);
+            return 0;
+        }
+        lagMillis.set(Duration.between(batch.get(0).createdAt(), LocalDateTime.now()).toMillis());
+
+        List<UserEvent> events = batch.stream().map(OutboxRow::event).toList();
+        try {
+            userEventProducer.sendUserEvents(events)
+                    .get(properties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException("Kafka did not acknowledge outbox batch", e);
+        }
+
+        databaseClient.sql("UPDATE user_service.user_event_outbox SET sent_at = now() WHERE id = ANY(:ids)")
+                .bind("ids", batch.stream().map(OutboxRow::id).toArray(Long[]::new))
+                .then()
+                .block();
+        relayedEvents.increment(events.size());
+        log.debug("Relayed {} outbox events", events.size());
+        return events.size();
+    }
+
+    private boolean tryAcquireLease() {
+        Long acquired = databaseClient.sql("""
+                        INSERT INTO user_service.outbox_relay_lease (name, owner, expires_at)
+                        VALUES (:name, :owner, now() + make_interval(secs => :seconds))
+                        ON CONFLICT (name) DO UPDATE
+                        SET owner = EXCLUDED.owner, expires_at = EXCLUDED.expires_at
+                        WHERE outbox_relay_lease.owner = EXCLUDED.owner OR outbox_relay_lease.expires_at < now()
+                        """)
+                .bind("name", LEASE_NAME)
+                .bind("owner", owner)
+                .bind("seconds", (double) properties.getLeaseTimeout().toSeconds())
+                .fetch()
+                .rowsUpdated()
+                .block();
+        return acquired != null && acquired > 0;
+    }
+
+    private static OutboxRow toRow(Readable row) {
+        return new OutboxRow(
+                row.get("id", Long.class),
+                row.get("created_at", LocalDateTime.class),
+                new UserEvent(
+                        row.get("event_type", String.class),
+                        row.get("email", String.class),
+                        row.get("user_name", String.class),
+                        row.get("user_id", Long.class),
+                        row.get("occurred_at", LocalDateTime.class)));
+    }
+
+    private record OutboxRow(Long id, LocalDateTime createdAt, UserEvent event) {
+    }
+}
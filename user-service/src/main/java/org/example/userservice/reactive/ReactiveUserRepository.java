@@ -0,0 +1,124 @@
+package org.example.userservice.reactive;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.example.userservice.dto.UserRequest;
+import org.example.userservice.dto.UserResponse;
+import org.example.userservice.dto.UserUpdateRequest;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveUserRepository {
+
+    private static final String COLUMNS = "id, name, email, age, created_at, updated_at, version";
+    // Appended to a "WITH changed AS (... RETURNING ...)" write, so the user row and its event commit
+    // together in one statement. nextval() takes the upper bound of a pooled block, like the user ids.
+    private static final String APPEND_EVENT = """
+            , event AS (
+                INSERT INTO user_service.user_event_outbox (id, event_type, email, user_name, user_id, occurred_at)
+                SELECT nextval('user_service.user_event_outbox_seq'), :eventType, email, name, id, now()
+                FROM changed
+            )
+            SELECT id, name, email, age, created_at, updated_at, version FROM changed
+            """;
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<UserResponse> findById(Long id) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM user_service.users WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveUserRepository::toResponse)
+                .one();
+    }
+
+    public Flux<UserResponse> findAfter(long after, int limit) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM user_service.users"
+                        + " WHERE id > :after ORDER BY id LIMIT :limit")
+                .bind("after", after)
+                .bind("limit", limit)
+                .map(ReactiveUserRepository::toResponse)
+                .all();
+    }
+
+    public Flux<UserResponse> streamAfter(long after) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM user_service.users WHERE id > :after ORDER BY id")
+                .bind("after", after)
+                .filter(statement -> statement.fetchSize(STREAM_FETCH_SIZE))
+                .map(ReactiveUserRepository::toResponse)
+                .all();
+    }
+
+    public Mono<UserResponse> insertIfEmailAbsent(UserRequest request) {
+        return databaseClient.sql("""
+                        WITH changed AS (
+                            INSERT INTO user_service.users (id, name, email, age, created_at)
+                            VALUES (nextval('user_service.users_seq'), :name, :email, :age, now())
+                            ON CONFLICT (email) DO NOTHING
+                            RETURNING id, name, email, age, created_at, updated_at, version
+                        )
+                        """ + APPEND_EVENT)
+                .bind("eventType", "USER_CREATED")
+                .bind("name", request.getName())
+                .bind("email", request.getEmail())
+                .bind("age", request.getAge())
+                .map(ReactiveUserRepository::toResponse)
+                .one();
+    }
+
+    public Mono<UserResponse> update(Long id, UserUpdateRequest request) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("""
+                        WITH changed AS (
+                            UPDATE user_service.users
+                            SET name = COALESCE(:name, name),
+                                email = COALESCE(:email, email),
+                                age = COALESCE(:age, age),
+                                updated_at = now(),
+                                version = version + 1
+                            WHERE id = :id
+                            RETURNING id, name, email, age, created_at, updated_at, version
+                        )
+                        """ + APPEND_EVENT)
+                .bind("eventType", "USER_UPDATED")
+                .bind("id", id);
+        spec = bindNullable(spec, "name", request.getName(), String.class);
+        spec = bindNullable(spec, "email", request.getEmail(), String.class);
+        spec = bindNullable(spec, "age", request.getAge(), Integer.class);
+        return spec.map(ReactiveUserRepository::toResponse).one();
+    }
+
+    public Mono<UserResponse> deleteById(Long id) {
+        return databaseClient.sql("WITH changed AS (DELETE FROM user_service.users WHERE id = :id RETURNING "
+                        + COLUMNS + ")" + APPEND_EVENT)
+                .bind("eventType", "USER_DELETED")
+                .bind("id", id)
+                .map(ReactiveUserRepository::toResponse)
+                .one();
+    }
+
+    private static <T> DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec,
+                                                                      String name, T value, Class<T> type) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+    }
+
+    private static UserResponse toResponse(Readable row) {
+        UserResponse response = new UserResponse();
+        response.setId(row.get("id", Long.class));
+        response.setName(row.get("name", String.class));
+        response.setEmail(row.get("email", String.class));
+        Integer age = row.get("age", Integer.class);
+        response.setAge(age != null ? age : 0);
+        response.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        response.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        response.setVersion(row.get("version", Long.class));
+        return response;
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.userservice.reactive;
+
+import org.example.userservice.dto.UserPage;
+import org.example.userservice.dto.UserRequest;
+import org.example.userservice.dto.UserResponse;
+import org.example.userservice.dto.UserUpdateRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserService {
+    Mono<UserResponse> createUser(UserRequest userRequest);
+    Mono<UserResponse> getUserById(Long id);
+    Mono<UserPage> getUsers(Long after, int limit);
+    Flux<UserResponse> streamUsers(Long after);
+    Mono<UserResponse> updateUser(Long id, UserUpdateRequest updateRequest);
+    Mono<Void> deleteUser(Long id);
+}
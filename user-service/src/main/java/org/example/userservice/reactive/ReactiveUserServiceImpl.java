@@ -0,0 +1,76 @@
+package org.example.userservice.reactive;
+
+import lombok.RequiredArgsConstructor;
+import org.example.userservice.dto.UserPage;
+import org.example.userservice.dto.UserRequest;
+import org.example.userservice.dto.UserResponse;
+import org.example.userservice.dto.UserUpdateRequest;
+import org.example.userservice.exception.ResourceNotFoundException;
+import org.example.userservice.exception.UserAlreadyExistsException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveUserServiceImpl implements ReactiveUserService {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final ReactiveUserRepository userRepository;
+
+    @Override
+    public Mono<UserResponse> createUser(UserRequest userRequest) {
+        return userRepository.insertIfEmailAbsent(userRequest)
+                .switchIfEmpty(Mono.error(() -> new UserAlreadyExistsException(
+                        String.format("User with email %s already exists", userRequest.getEmail())
+                )));
+    }
+
+    @Override
+    public Mono<UserResponse> getUserById(Long id) {
+        return userRepository.findById(id)
+                .switchIfEmpty(notFound(id));
+    }
+
+    @Override
+    public Mono<UserPage> getUsers(Long after, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        long cursor = after != null ? after : 0L;
+
+        return userRepository.findAfter(cursor, pageSize + 1)
+                .collectList()
+                .map(users -> {
+                    boolean hasNext = users.size() > pageSize;
+                    List<UserResponse> content = hasNext ? users.subList(0, pageSize) : users;
+                    Long nextCursor = hasNext ? content.get(content.size() - 1).getId() : null;
+                    return new UserPage(content, nextCursor);
+                });
+    }
+
+    @Override
+    public Flux<UserResponse> streamUsers(Long after) {
+        return userRepository.streamAfter(after != null ? after : 0L);
+    }
+
+    @Override
+    public Mono<UserResponse> updateUser(Long id, UserUpdateRequest updateRequest) {
+        return userRepository.update(id, updateRequest)
+                .switchIfEmpty(notFound(id));
+    }
+
+    @Override
+    public Mono<Void> deleteUser(Long id) {
+        return userRepository.deleteById(id)
+                .switchIfEmpty(notFound(id))
+                .then();
+    }
+
+    private static Mono<UserResponse> notFound(Long id) {
+        return Mono.error(() -> new ResourceNotFoundException("User not found with id: " + id));
+    }
+}
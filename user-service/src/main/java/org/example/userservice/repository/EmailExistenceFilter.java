@@ -0,0 +1,206 @@
+package org.example.userservice.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.userservice.config.EmailFilterProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory Bloom filter of every email in {@code user_service.users}. A miss means the email
+ * is definitely not taken, so the lookup can skip the database; a hit still has to be
+ * confirmed. Deleted and changed emails cannot be removed and only cost false positives,
+ * so the filter is rebuilt from the table once its expected false-positive rate degrades.
+ * Until the first build completes every email is reported as a possible hit.
+ */
+@Component
+@Profile("!reactive")
+@Slf4j
+public class EmailExistenceFilter {
+
+    private final UserJdbcRepository userJdbcRepository;
+    private final EmailFilterProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile BloomFilter current;
+    // Receives writes while a rebuild streams the table, so nothing committed meanwhile is lost
+    private volatile BloomFilter building;
+    private final AtomicLong staleEntries = new AtomicLong();
+
+    private final Counter definiteMisses;
+    private final Counter possibleHits;
+    private final Counter falsePositives;
+
+    public EmailExistenceFilter(UserJdbcRepository userJdbcRepository,
+                                EmailFilterProperties properties,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry) {
+        this.userJdbcRepository = userJdbcRepository;
+        this.properties = properties;
+        // Not read-only, so the build reads the primary rather than a replica that may be behind
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Gauge.builder("user.email.filter.expected.fpp", this,
+                        filter -> filter.current != null ? filter.current.expectedFalsePositiveRate() : 1.0)
+                .description("False-positive rate expected from the filter's current fill")
+                .register(meterRegistry);
+        Gauge.builder("user.email.filter.memory", this,
+                        filter -> filter.current != null ? filter.current.sizeInBytes() : 0)
+                .description("Memory held by the email filter's bit array")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("user.email.filter.entries", this,
+                        filter -> filter.current != null ? filter.current.approximateElementCount() : 0)
+                .description("Approximate number of emails in the filter, stale ones included")
+                .register(meterRegistry);
+        Gauge.builder("user.email.filter.stale", staleEntries, AtomicLong::get)
+                .description("Emails deleted or changed since the last build")
+                .register(meterRegistry);
+        this.definiteMisses = Counter.builder("user.email.filter.checks")
+                .tag("result", "miss")
+                .description("Email checks answered by the filter")
+                .register(meterRegistry);
+        this.possibleHits = Counter.builder("user.email.filter.checks")
+                .tag("result", "possible-hit")
+                .description("Email checks answered by the filter")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("user.email.filter.false-positives")
+                .description("Possible hits that the database did not confirm")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (properties.isEnabled()) {
+            startRebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${user-service.email-filter.check-interval-ms:60000}")
+    public void rebuildIfDegraded() {
+        BloomFilter filter = current;
+        if (filter != null && building == null
+                && filter.expectedFalsePositiveRate() > properties.getMaxFalsePositiveRate()) {
+            log.info("Email filter expects {} false positives, rebuilding", filter.expectedFalsePositiveRate());
+            startRebuild();
+        }
+    }
+
+    // Streaming millions of emails takes seconds, so it stays off the startup and scheduler threads
+    private void startRebuild() {
+        Thread builder = new Thread(this::rebuild, "email-filter-build");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        BloomFilter previous = current;
+        long expected = Math.max(properties.getExpectedInsertions(),
+                previous != null ? previous.approximateElementCount() : 0);
+        BloomFilter next = BloomFilter.create(expected, properties.getFalsePositiveRate());
+        long staleBefore = staleEntries.get();
+
+        building = next;
+        try {
+            AtomicLong rows = new AtomicLong();
+            transactionTemplate.executeWithoutResult(status ->
+                    userJdbcRepository.streamEmails(properties.getFetchSize(), email -> {
+                        next.put(email);
+                        rows.incrementAndGet();
+                    }));
+            current = next;
+            staleEntries.addAndGet(-staleBefore);
+            log.info("Email filter built from {} users in {} ms ({} bytes)", rows.get(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), next.sizeInBytes());
+        } catch (RuntimeException e) {
+            log.error("Failed to build the email filter, emails are checked against the database", e);
+        } finally {
+            building = null;
+        }
+    }
+
+    public boolean mightContain(String email) {
+        BloomFilter filter = current;
+        if (filter == null) {
+            return true;
+        }
+        if (filter.mightContain(email)) {
+            possibleHits.increment();
+            return true;
+        }
+        definiteMisses.increment();
+        return false;
+    }
+
+    public void recordFalsePositives(long count) {
+        if (count > 0 && current != null) {
+            falsePositives.increment(count);
+        }
+    }
+
+    // Emails go in right away and again once their transaction commits: a rebuild that snapshots
+    // the table in between would otherwise replace the filter without them
+    public void put(String email) {
+        add(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingEmails().add(email);
+        }
+    }
+
+    public void putAll(Collection<String> emails) {
+        emails.forEach(this::put);
+    }
+
+    public void recordStale(long count) {
+        staleEntries.addAndGet(count);
+    }
+
+    private void add(String email) {
+        BloomFilter next = building;
+        BloomFilter filter = current;
+        if (next != null) {
+            next.put(email);
+        }
+        if (filter != null) {
+            filter.put(email);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> pendingEmails() {
+        List<String> pending = (List<String>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<String> emails = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, emails);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    emails.forEach(EmailExistenceFilter.this::add);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResource(EmailExistenceFilter.this);
+                }
+            });
+            pending = emails;
+        }
+        return pending;
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.userservice.repository;
+
+import org.example.userservice.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Query(value = """
+            SELECT * FROM user_service.user_event_outbox
+            WHERE sent_at IS NULL
+            ORDER BY id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<OutboxEvent> findUnsent(@Param("limit") int limit);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.sentAt = :sentAt where e.id in :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_service.outbox_relay_lease (name, owner, expires_at)
+            VALUES (:name, :owner, now() + make_interval(secs => :seconds))
+            ON CONFLICT (name) DO UPDATE
+            SET owner = EXCLUDED.owner, expires_at = EXCLUDED.expires_at
+            WHERE outbox_relay_lease.owner = EXCLUDED.owner OR outbox_relay_lease.expires_at < now()
+            """, nativeQuery = true)
+    int tryAcquireLease(@Param("name") String name, @Param("owner") String owner, @Param("seconds") long seconds);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_service.outbox_relay_lease WHERE name = :name AND owner = :owner",
+            nativeQuery = true)
+    int releaseLease(@Param("name") String name, @Param("owner") String owner);
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.sentAt < :before")
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,117 @@
+package org.example.userservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the indexes from 02-search-indexes.sql once instead of on every start. An interrupted
+ * CREATE INDEX CONCURRENTLY leaves an INVALID index that IF NOT EXISTS would keep forever, so
+ * invalid ones are dropped and rebuilt. An advisory lock keeps a second instance from dropping
+ * an index that is still being built.
+ */
+@Component
+@Profile("!reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class SearchIndexInitializer {
+
+    // Every index created by 02-search-indexes.sql
+    static final List<String> INDEXES = List.of(
+            "users_lower_name_id_idx",
+            "users_email_domain_id_idx",
+            "users_age_id_idx",
+            "users_created_at_id_idx"
+    );
+
+    private static final String INDEX_STATE_SQL = """
+            SELECT c.relname, i.indisvalid
+            FROM pg_index i
+            JOIN pg_class c ON c.oid = i.indexrelid
+            JOIN pg_namespace n ON n.oid = c.relnamespace
+            WHERE n.nspname = 'user_service' AND c.relname = ANY (?)
+            """;
+
+    private static final String LOCK_KEY = "hashtext('user_service.search_indexes')";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            ensureIndexes();
+        } catch (Exception e) {
+            log.error("Failed to build search indexes, searches may fall back to sequential scans", e);
+        }
+    }
+
+    /**
+     * @return how many indexes were (re)built, 0 when all were valid or another instance holds the lock
+     */
+    public int ensureIndexes() {
+        // CONCURRENTLY refuses to run inside a transaction, so everything runs in autocommit on one session
+        Integer built = jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            if (!tryLock(connection)) {
+                log.info("Search indexes are being built by another instance");
+                return 0;
+            }
+            try {
+                return buildMissing(connection);
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SELECT pg_advisory_unlock(" + LOCK_KEY + ")");
+                }
+            }
+        });
+        return built != null ? built : 0;
+    }
+
+    private int buildMissing(Connection connection) throws SQLException {
+        List<String> valid = new ArrayList<>();
+        List<String> invalid = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(INDEX_STATE_SQL)) {
+            statement.setArray(1, connection.createArrayOf("text", INDEXES.toArray()));
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    (rs.getBoolean(2) ? valid : invalid).add(rs.getString(1));
+                }
+            }
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            for (String index : invalid) {
+                log.warn("Dropping invalid index {} left by an interrupted build", index);
+                statement.execute("DROP INDEX CONCURRENTLY IF EXISTS user_service." + index);
+            }
+        }
+
+        int missing = INDEXES.size() - valid.size();
+        if (missing > 0) {
+            log.info("Building {} search indexes", missing);
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("02-search-indexes.sql"));
+        }
+        return missing;
+    }
+
+    private static boolean tryLock(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT pg_try_advisory_lock(" + LOCK_KEY + ")")) {
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+}
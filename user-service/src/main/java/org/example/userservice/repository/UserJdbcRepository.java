@@ -0,0 +1,364 @@
+package org.example.userservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.userservice.dto.UserBatchUpdateRequest;
+import org.example.userservice.dto.UserRequest;
+import org.example.userservice.dto.UserResponse;
+import org.example.userservice.dto.UserSearchCriteria;
+import org.example.userservice.dto.UserSearchSort;
+import org.example.userservice.dto.UserUpdateRequest;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+@Repository
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class UserJdbcRepository {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private static final String CREATE_STAGING_SQL = """
+            CREATE TEMP TABLE user_import_staging (
+                line BIGINT NOT NULL,
+                name TEXT NOT NULL,
+                email TEXT NOT NULL,
+                age INT NOT NULL
+            ) ON COMMIT DROP
+            """;
+
+    private static final String COPY_STAGING_SQL =
+            "COPY user_import_staging (line, name, email, age) FROM STDIN (FORMAT csv)";
+
+    // Ids are handed out in blocks of 50 per nextval, exactly like the pooled
+    // optimizer behind User#id (allocationSize = 50), so both can share the sequence.
+    private static final String INSERT_FROM_STAGING_SQL = """
+            WITH candidates AS (
+                SELECT DISTINCT ON (s.email) s.line, s.name, s.email, s.age
+                FROM user_import_staging s
+                WHERE NOT EXISTS (SELECT 1 FROM user_service.users u WHERE u.email = s.email)
+                ORDER BY s.email, s.line
+            ), numbered AS (
+                SELECT c.*, row_number() OVER (ORDER BY c.line) - 1 AS rn
+                FROM candidates c
+            ), allocated AS (
+                SELECT n.*, CASE WHEN n.rn % 50 = 0 THEN nextval('user_service.users_seq') END AS hi
+                FROM numbered n
+            ), inserted AS (
+                INSERT INTO user_service.users (id, name, email, age, created_at)
+                SELECT max(a.hi) OVER (PARTITION BY a.rn / 50) - 49 + a.rn % 50, a.name, a.email, a.age, now()
+                FROM allocated a
+                ON CONFLICT (email) DO NOTHING
+                RETURNING id, name, email
+            )
+            """;
+
+    private static final String QUEUE_EVENTS_SQL = """
+            , events AS (
+                SELECT i.id, i.name, i.email, row_number() OVER (ORDER BY i.id) - 1 AS rn
+                FROM inserted i
+            ), allocated_events AS (
+                SELECT e.*, CASE WHEN e.rn % 50 = 0 THEN nextval('user_service.user_event_outbox_seq') END AS hi
+                FROM events e
+            ), queued AS (
+                INSERT INTO user_service.user_event_outbox
+                    (id, event_type, email, user_name, user_id, occurred_at, created_at)
+                SELECT max(e.hi) OVER (PARTITION BY e.rn / 50) - 49 + e.rn % 50,
+                       'USER_CREATED', e.email, e.name, e.id, now(), now()
+                FROM allocated_events e
+            )
+            """;
+
+    // Same pooled id blocks as the staging insert. A taken email skips its row instead of
+    // aborting the transaction, so the caller can report it as a per-item conflict.
+    private static final String INSERT_IF_EMAIL_ABSENT_SQL = """
+            WITH numbered AS (
+                SELECT v.name, v.email, v.age, v.ord - 1 AS rn
+                FROM unnest(?::text[], ?::text[], ?::int[]) WITH ORDINALITY AS v(name, email, age, ord)
+            ), allocated AS (
+                SELECT n.*, CASE WHEN n.rn % 50 = 0 THEN nextval('user_service.users_seq') END AS hi
+                FROM numbered n
+            )
+            INSERT INTO user_service.users (id, name, email, age, created_at)
+            SELECT max(a.hi) OVER (PARTITION BY a.rn / 50) - 49 + a.rn % 50, a.name, a.email, a.age, now()
+            FROM allocated a
+            ON CONFLICT (email) DO NOTHING
+            RETURNING id, name, email, age, created_at, updated_at, version
+            """;
+
+    private static final String COLUMNS = "id, name, email, age, created_at, updated_at, version";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    // PostgreSQL only honours the fetch size (server-side cursor) inside a transaction
+    public void streamAll(int fetchSize, Consumer<UserResponse> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "SELECT " + COLUMNS + " FROM user_service.users ORDER BY id",
+                    ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(UserResponseRowMapper.INSTANCE.mapRow(rs, 0)));
+    }
+
+    public void streamEmails(int fetchSize, Consumer<String> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "SELECT email FROM user_service.users",
+                    ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(rs.getString(1)));
+    }
+
+    // Every filter and sort key below is backed by an index from 02-search-indexes.sql;
+    // the name expressions must stay in sync with users_lower_name_id_idx.
+    public List<UserResponse> search(UserSearchCriteria criteria, Object afterValue, Long afterId, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + " FROM user_service.users WHERE true");
+        MapSqlParameterSource params = new MapSqlParameterSource();
+
+        if (criteria.getNamePrefix() != null && !criteria.getNamePrefix().isEmpty()) {
+            sql.append(" AND lower(name) COLLATE \"C\" LIKE lower(:namePrefix) || '%'");
+            params.addValue("namePrefix", escapeLike(criteria.getNamePrefix()));
+        }
+        if (criteria.getEmailDomain() != null && !criteria.getEmailDomain().isEmpty()) {
+            sql.append(" AND lower(split_part(email, '@', 2)) = lower(:emailDomain)");
+            params.addValue("emailDomain", criteria.getEmailDomain());
+        }
+        if (criteria.getMinAge() != null) {
+            sql.append(" AND age >= :minAge");
+            params.addValue("minAge", criteria.getMinAge());
+        }
+        if (criteria.getMaxAge() != null) {
+            sql.append(" AND age <= :maxAge");
+            params.addValue("maxAge", criteria.getMaxAge());
+        }
+
+        String direction = criteria.getDirection().isDescending() ? "DESC" : "ASC";
+        String comparison = criteria.getDirection().isDescending() ? "<" : ">";
+        String sortKey = sortKey(criteria.getSort());
+        if (afterId != null) {
+            if (sortKey == null) {
+                sql.append(" AND id ").append(comparison).append(" :afterId");
+            } else {
+                sql.append(" AND (").append(sortKey).append(", id) ").append(comparison)
+                        .append(" (").append(sortValue(criteria.getSort())).append(", :afterId)");
+                params.addValue("afterValue", afterValue);
+            }
+            params.addValue("afterId", afterId);
+        }
+
+        sql.append(" ORDER BY ");
+        if (sortKey != null) {
+            sql.append(sortKey).append(' ').append(direction).append(", ");
+        }
+        sql.append("id ").append(direction).append(" LIMIT :limit");
+        params.addValue("limit", limit);
+
+        return namedParameterJdbcTemplate.query(sql.toString(), params, UserResponseRowMapper.INSTANCE);
+    }
+
+    // Returns the inserted rows only, in no particular order
+    public List<UserResponse> insertAllIfEmailAbsent(List<UserRequest> users) {
+        String[] names = new String[users.size()];
+        String[] emails = new String[users.size()];
+        Integer[] ages = new Integer[users.size()];
+        for (int i = 0; i < users.size(); i++) {
+            UserRequest user = users.get(i);
+            names[i] = user.getName();
+            emails[i] = user.getEmail();
+            ages[i] = user.getAge();
+        }
+
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_IF_EMAIL_ABSENT_SQL);
+            statement.setArray(1, connection.createArrayOf("text", names));
+            statement.setArray(2, connection.createArrayOf("text", emails));
+            statement.setArray(3, connection.createArrayOf("integer", ages));
+            return statement;
+        }, UserResponseRowMapper.INSTANCE);
+    }
+
+    public Optional<UserResponse> update(Long id, UserUpdateRequest request, Long expectedVersion) {
+        StringBuilder sql = new StringBuilder("UPDATE user_service.users SET ");
+        MapSqlParameterSource params = new MapSqlParameterSource("id", id);
+
+        if (request.getName() != null) {
+            sql.append("name = :name, ");
+            params.addValue("name", request.getName());
+        }
+        if (request.getEmail() != null) {
+            sql.append("email = :email, ");
+            params.addValue("email", request.getEmail());
+        }
+        if (request.getAge() != null) {
+            sql.append("age = :age, ");
+            params.addValue("age", request.getAge());
+        }
+        sql.append("updated_at = now(), version = version + 1 WHERE id = :id");
+        if (expectedVersion != null) {
+            sql.append(" AND version = :version");
+            params.addValue("version", expectedVersion);
+        }
+        sql.append(" RETURNING ").append(COLUMNS);
+
+        return namedParameterJdbcTemplate.query(sql.toString(), params, UserResponseRowMapper.INSTANCE)
+                .stream()
+                .findFirst();
+    }
+
+    public Optional<UserResponse> deleteById(Long id) {
+        return jdbcTemplate.query("DELETE FROM user_service.users WHERE id = ? RETURNING " + COLUMNS,
+                        UserResponseRowMapper.INSTANCE, id)
+                .stream()
+                .findFirst();
+    }
+
+    public List<UserResponse> updateAll(List<UserBatchUpdateRequest> updates) {
+        Long[] ids = new Long[updates.size()];
+        String[] names = new String[updates.size()];
+        String[] emails = new String[updates.size()];
+        Integer[] ages = new Integer[updates.size()];
+        for (int i = 0; i < updates.size(); i++) {
+            UserBatchUpdateRequest update = updates.get(i);
+            ids[i] = update.getId();
+            names[i] = update.getName();
+            emails[i] = update.getEmail();
+            ages[i] = update.getAge();
+        }
+
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("""
+                    UPDATE user_service.users u
+                    SET name = COALESCE(v.name, u.name),
+                        email = COALESCE(v.email, u.email),
+                        age = COALESCE(v.age, u.age),
+                        updated_at = now(),
+                        version = u.version + 1
+                    FROM unnest(?::bigint[], ?::text[], ?::text[], ?::int[]) AS v(id, name, email, age)
+                    WHERE u.id = v.id
+                    RETURNING u.id, u.name, u.email, u.age, u.created_at, u.updated_at, u.version
+                    """);
+            statement.setArray(1, connection.createArrayOf("bigint", ids));
+            statement.setArray(2, connection.createArrayOf("text", names));
+            statement.setArray(3, connection.createArrayOf("text", emails));
+            statement.setArray(4, connection.createArrayOf("integer", ages));
+            return statement;
+        }, UserResponseRowMapper.INSTANCE);
+    }
+
+    public List<UserResponse> deleteAllById(Collection<Long> ids) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "DELETE FROM user_service.users WHERE id = ANY(?) RETURNING " + COLUMNS);
+            statement.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+            return statement;
+        }, UserResponseRowMapper.INSTANCE);
+    }
+
+    public Map<String, Long> findIdsByEmail(Collection<String> emails) {
+        Map<String, Long> owners = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "SELECT email, id FROM user_service.users WHERE email = ANY(?)");
+            statement.setArray(1, connection.createArrayOf("text", emails.toArray()));
+            return statement;
+        }, (RowCallbackHandler) rs -> owners.put(rs.getString("email"), rs.getLong("id")));
+        return owners;
+    }
+
+    // The staging table and the COPY stream live on the transaction's connection
+    public StagingCopy openStagingCopy() {
+        jdbcTemplate.execute(CREATE_STAGING_SQL);
+        return jdbcTemplate.execute((ConnectionCallback<StagingCopy>) connection -> new StagingCopy(
+                new PGCopyOutputStream(connection.unwrap(PGConnection.class), COPY_STAGING_SQL, COPY_BUFFER_SIZE)));
+    }
+
+    public long insertFromStaging(boolean queueEvents) {
+        jdbcTemplate.execute("ANALYZE user_import_staging");
+        String sql = INSERT_FROM_STAGING_SQL
+                + (queueEvents ? QUEUE_EVENTS_SQL : "")
+                + "SELECT count(*) FROM inserted";
+        Long inserted = jdbcTemplate.queryForObject(sql, Long.class);
+        return inserted != null ? inserted : 0;
+    }
+
+    private static String sortKey(UserSearchSort sort) {
+        return switch (sort) {
+            case ID -> null;
+            case NAME -> "lower(name) COLLATE \"C\"";
+            case AGE -> "age";
+            case CREATED_AT -> "created_at";
+        };
+    }
+
+    private static String sortValue(UserSearchSort sort) {
+        return switch (sort) {
+            case NAME -> "lower(:afterValue) COLLATE \"C\"";
+            case CREATED_AT -> "CAST(:afterValue AS timestamp)";
+            default -> ":afterValue";
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    public static final class StagingCopy implements Closeable {
+
+        private final Writer writer;
+        private long rows;
+
+        private StagingCopy(PGCopyOutputStream out) {
+            this.writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        }
+
+        public void add(long line, UserRequest user) throws IOException {
+            writer.write(Long.toString(line));
+            writer.write(',');
+            writer.write(quote(user.getName()));
+            writer.write(',');
+            writer.write(quote(user.getEmail()));
+            writer.write(',');
+            writer.write(Integer.toString(user.getAge()));
+            writer.write('\n');
+            rows++;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+
+        private static String quote(String value) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.userservice.repository;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface UserNaturalIdRepository {
+    Set<String> findExistingEmails(Collection<String> emails);
+
+    void evictFromSecondLevelCache(Collection<Long> ids);
+}
@@ -0,0 +1,100 @@
+package org.example.userservice.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceUnit;
+import org.example.userservice.entity.User;
+import org.hibernate.StatelessSession;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Email existence checks served from the second-level cache, where the natural-id region maps an
+ * email to an id and the entity region holds the row; only emails missing there are queried, and
+ * loading them caches them for the next check. Native SQL writes bypass Hibernate, so callers evict
+ * the touched entities with {@link #evictFromSecondLevelCache}. A cached email that moved or was
+ * deleted is still caught here, because the reloaded entity no longer carries it.
+ * Lookups are not read-only, so they run on the primary: a replica row would be cached as current.
+ */
+public class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @PersistenceUnit
+    private EntityManagerFactory entityManagerFactory;
+
+    @Override
+    @Transactional
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        EntityPersister persister = persister();
+        NaturalIdDataAccess cacheAccess = persister.getNaturalIdCacheAccessStrategy();
+
+        Set<String> existing = new HashSet<>();
+        List<String> uncached = new ArrayList<>();
+        for (String email : emails) {
+            Object cacheKey = cacheAccess.generateCacheKey(email, persister, session);
+            Object cachedId = cacheAccess.get(session, cacheKey);
+            if (cachedId != null) {
+                User user = entityManager.find(User.class, cachedId);
+                if (user != null && email.equals(user.getEmail())) {
+                    existing.add(email);
+                    continue;
+                }
+                cacheAccess.evict(cacheKey);
+            }
+            uncached.add(email);
+        }
+        if (!uncached.isEmpty()) {
+            // Read-only: the rows are only looked at, so flushes skip them
+            entityManager.createQuery("select u from User u where u.email in :emails", User.class)
+                    .setParameter("emails", uncached)
+                    .setHint(HibernateHints.HINT_READ_ONLY, true)
+                    .getResultList()
+                    .forEach(user -> existing.add(user.getEmail()));
+        }
+        return existing;
+    }
+
+    // The email is read from the cached entity, since the caller only knows the new one or none
+    @Override
+    public void evictFromSecondLevelCache(Collection<Long> ids) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        EntityPersister persister = persister();
+        EntityDataAccess entityAccess = persister.getCacheAccessStrategy();
+        NaturalIdDataAccess naturalIdAccess = persister.getNaturalIdCacheAccessStrategy();
+        int emailIndex = persister.getPropertyIndex("email");
+
+        try (StatelessSession statelessSession = sessionFactory.openStatelessSession()) {
+            SharedSessionContractImplementor session = (SharedSessionContractImplementor) statelessSession;
+            for (Long id : ids) {
+                Object entityKey = entityAccess.generateCacheKey(id, persister, sessionFactory, null);
+                if (entityAccess.get(session, entityKey) instanceof CacheEntry entry) {
+                    Object email = entry.getDisassembledState()[emailIndex];
+                    naturalIdAccess.evict(naturalIdAccess.generateCacheKey(email, persister, session));
+                }
+                entityAccess.evict(entityKey);
+            }
+        }
+    }
+
+    private EntityPersister persister() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(User.class);
+    }
+}
@@ -1,13 +1,53 @@
 package org.example.userservice.repository;
 
+import org.example.userservice.dto.UserResponse;
+import org.example.userservice.dto.UserVersion;
 import org.example.userservice.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByEmail(String email);
-    boolean existsByEmail(String email);
-}
\ No newline at end of file
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository {
+
+    @Query("""
+            select new org.example.userservice.dto.UserResponse(
+                u.id, u.name, u.email, u.age, u.createdAt, u.updatedAt, u.version)
+            from User u
+            where u.id = :id
+            """)
+    Optional<UserResponse> findResponseById(@Param("id") Long id);
+
+    @Query("""
+            select new org.example.userservice.dto.UserVersion(u.version, u.updatedAt)
+            from User u
+            where u.id = :id
+            """)
+    Optional<UserVersion> findVersionById(@Param("id") Long id);
+
+    @Query("""
+            select new org.example.userservice.dto.UserResponse(
+                u.id, u.name, u.email, u.age, u.createdAt, u.updatedAt, u.version)
+            from User u
+            where u.id > :after
+            order by u.id
+            """)
+    List<UserResponse> findResponsesAfter(@Param("after") Long after, Limit limit);
+
+    // nextval() hands out the upper bound of a pooled block, so the row takes that id and
+    // the rest of the block is skipped rather than clashing with Hibernate-allocated ids.
+    @Query(value = """
+            INSERT INTO user_service.users (id, name, email, age, created_at)
+            VALUES (nextval('user_service.users_seq'), :name, :email, :age, now())
+            ON CONFLICT (email) DO NOTHING
+            RETURNING *
+            """, nativeQuery = true)
+    Optional<User> insertIfEmailAbsent(@Param("name") String name,
+                                       @Param("email") String email,
+                                       @Param("age") int age);
+}
@@ -0,0 +1,28 @@
+package org.example.userservice.repository;
+
+import org.example.userservice.dto.UserResponse;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+public class UserResponseRowMapper implements RowMapper<UserResponse> {
+
+    public static final UserResponseRowMapper INSTANCE = new UserResponseRowMapper();
+
+    @Override
+    public UserResponse mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        return new UserResponse(
+                rs.getLong("id"),
+                rs.getString("name"),
+                rs.getString("email"),
+                rs.getInt("age"),
+                createdAt != null ? createdAt.toLocalDateTime() : null,
+                updatedAt != null ? updatedAt.toLocalDateTime() : null,
+                rs.getLong("version")
+        );
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.userservice.service;
+
+import org.example.userservice.dto.UserDataFormat;
+
+import java.io.OutputStream;
+
+public interface UserExportService {
+    void exportUsers(UserDataFormat format, OutputStream out);
+}
@@ -0,0 +1,88 @@
+package org.example.userservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+import org.example.userservice.dto.UserDataFormat;
+import org.example.userservice.dto.UserResponse;
+import org.example.userservice.repository.UserJdbcRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+@Service
+@Profile("!reactive")
+@Slf4j
+public class UserExportServiceImpl implements UserExportService {
+
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.builder()
+            .addColumn("id")
+            .addColumn("name")
+            .addColumn("email")
+            .addColumn("age")
+            .addColumn("createdAt")
+            .build();
+    private static final byte[] CSV_HEADER = "id,name,email,age,createdAt\n".getBytes(StandardCharsets.UTF_8);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final UserJdbcRepository userJdbcRepository;
+    private final ObjectWriter jsonWriter;
+    private final ObjectWriter csvWriter;
+    private final int fetchSize;
+
+    public UserExportServiceImpl(UserJdbcRepository userJdbcRepository,
+                                 ObjectMapper objectMapper,
+                                 @Value("${user-service.export.fetch-size:1000}") int fetchSize) {
+        this.userJdbcRepository = userJdbcRepository;
+        this.jsonWriter = objectMapper.writerFor(UserResponse.class);
+        this.csvWriter = CsvMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writerFor(UserResponse.class)
+                .with(CSV_SCHEMA);
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportUsers(UserDataFormat format, OutputStream out) {
+        log.info("Exporting users as {}", format);
+        ObjectWriter writer = format == UserDataFormat.CSV ? csvWriter : jsonWriter;
+        long[] exported = {0};
+
+        try {
+            BufferedOutputStream buffered = new BufferedOutputStream(out, BUFFER_SIZE);
+            if (format == UserDataFormat.CSV) {
+                buffered.write(CSV_HEADER);
+            }
+
+            userJdbcRepository.streamAll(fetchSize, user -> {
+                try {
+                    buffered.write(writer.writeValueAsBytes(user));
+                    if (format == UserDataFormat.NDJSON) {
+                        buffered.write('\n');
+                    }
+                    exported[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            buffered.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("Exported {} users as {}", exported[0], format);
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.userservice.service;
+
+import org.example.userservice.dto.UserDataFormat;
+import org.example.userservice.dto.UserImportReport;
+
+import java.io.InputStream;
+
+public interface UserImportService {
+    UserImportReport importUsers(UserDataFormat format, InputStream in, boolean publishEvents);
+}
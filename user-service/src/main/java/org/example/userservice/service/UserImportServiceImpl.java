@@ -0,0 +1,119 @@
+package org.example.userservice.service;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.example.userservice.dto.UserDataFormat;
+import org.example.userservice.dto.UserImportReport;
+import org.example.userservice.dto.UserRequest;
+import org.example.userservice.exception.InvalidImportException;
+import org.example.userservice.repository.EmailExistenceFilter;
+import org.example.userservice.repository.UserJdbcRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Service
+@Profile("!reactive")
+@Slf4j
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final UserJdbcRepository userJdbcRepository;
+    private final EmailExistenceFilter emailFilter;
+    private final Validator validator;
+    private final ObjectReader jsonReader;
+    private final ObjectReader csvReader;
+
+    public UserImportServiceImpl(UserJdbcRepository userJdbcRepository,
+                                 EmailExistenceFilter emailFilter,
+                                 Validator validator,
+                                 ObjectMapper objectMapper) {
+        this.userJdbcRepository = userJdbcRepository;
+        this.emailFilter = emailFilter;
+        this.validator = validator;
+        this.jsonReader = objectMapper.readerFor(UserRequest.class);
+        this.csvReader = new CsvMapper()
+                .readerFor(UserRequest.class)
+                .with(CsvSchema.emptySchema().withHeader());
+    }
+
+    @Override
+    @Transactional
+    public UserImportReport importUsers(UserDataFormat format, InputStream in, boolean publishEvents) {
+        log.info("Importing users from {} (events: {})", format, publishEvents);
+        long started = System.nanoTime();
+        ObjectReader reader = format == UserDataFormat.CSV ? csvReader : jsonReader;
+        List<String> errors = new ArrayList<>();
+        long received = 0;
+        long invalid = 0;
+        long staged;
+
+        try (MappingIterator<UserRequest> rows = reader.readValues(in);
+             UserJdbcRepository.StagingCopy staging = userJdbcRepository.openStagingCopy()) {
+            while (rows.hasNextValue()) {
+                long line = ++received;
+                String error;
+                try {
+                    UserRequest row = rows.nextValue();
+                    Set<ConstraintViolation<UserRequest>> violations = validator.validate(row);
+                    if (violations.isEmpty()) {
+                        staging.add(line, row);
+                        // A rolled-back import only leaves false positives behind
+                        emailFilter.put(row.getEmail());
+                        continue;
+                    }
+                    error = describe(violations);
+                } catch (JsonMappingException e) {
+                    error = e.getOriginalMessage();
+                }
+                invalid++;
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add("Record " + line + ": " + error);
+                }
+            }
+            staged = staging.getRows();
+        } catch (IOException e) {
+            throw new InvalidImportException("Malformed " + format + " input after record " + received, e);
+        }
+
+        long imported = userJdbcRepository.insertFromStaging(publishEvents);
+        long elapsedMs = Math.max(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), 1);
+        long rowsPerSecond = received * 1000 / elapsedMs;
+
+        log.info("Imported {} of {} users in {} ms ({} rows/s, {} invalid, {} duplicates)",
+                imported, received, elapsedMs, rowsPerSecond, invalid, staged - imported);
+        return new UserImportReport(
+                received,
+                invalid,
+                staged - imported,
+                imported,
+                publishEvents ? imported : 0,
+                elapsedMs,
+                rowsPerSecond,
+                errors
+        );
+    }
+
+    private static String describe(Set<? extends ConstraintViolation<?>> violations) {
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+}
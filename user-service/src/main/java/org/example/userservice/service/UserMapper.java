@@ -2,7 +2,6 @@ package org.example.userservice.service;
 
 import org.example.userservice.dto.UserRequest;
 import org.example.userservice.dto.UserResponse;
-import org.example.userservice.dto.UserUpdateRequest;
 import org.example.userservice.entity.User;
 import org.mapstruct.*;
 
@@ -12,10 +11,9 @@ public interface UserMapper {
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     User toEntity(UserRequest userRequest);
 
     UserResponse toResponse(User user);
-
-    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
-    void updateEntity(UserUpdateRequest updateRequest, @MappingTarget User user);
 }
\ No newline at end of file
@@ -1,15 +1,25 @@
 package org.example.userservice.service;
 
+import org.example.userservice.dto.UserBatchItemResult;
+import org.example.userservice.dto.UserBatchUpdateRequest;
+import org.example.userservice.dto.UserPage;
 import org.example.userservice.dto.UserRequest;
 import org.example.userservice.dto.UserResponse;
+import org.example.userservice.dto.UserSearchCriteria;
+import org.example.userservice.dto.UserSearchPage;
 import org.example.userservice.dto.UserUpdateRequest;
 
 import java.util.List;
 
 public interface UserService {
     UserResponse createUser(UserRequest userRequest);
+    List<UserBatchItemResult> createUsers(List<UserRequest> userRequests);
     UserResponse getUserById(Long id);
-    List<UserResponse> getAllUsers();
+    UserPage getUsers(Long after, int limit);
+    UserSearchPage searchUsers(UserSearchCriteria criteria);
     UserResponse updateUser(Long id, UserUpdateRequest updateRequest);
+    UserResponse updateUser(Long id, UserUpdateRequest updateRequest, Long expectedVersion);
+    List<UserBatchItemResult> updateUsers(List<UserBatchUpdateRequest> updateRequests);
     void deleteUser(Long id);
+    List<UserBatchItemResult> deleteUsers(List<Long> ids);
 }
\ No newline at end of file
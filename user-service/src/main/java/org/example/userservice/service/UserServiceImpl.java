@@ -1,47 +1,88 @@
 package org.example.userservice.service;
 
+import org.example.userservice.config.CacheConfig;
+import org.example.userservice.dto.BatchItemStatus;
+import org.example.userservice.dto.UserBatchItemResult;
+import org.example.userservice.dto.UserBatchUpdateRequest;
+import org.example.userservice.dto.UserPage;
 import org.example.userservice.dto.UserRequest;
 import org.example.userservice.dto.UserResponse;
+import org.example.userservice.dto.UserSearchCriteria;
+import org.example.userservice.dto.UserSearchPage;
+import org.example.userservice.dto.UserSearchSort;
 import org.example.userservice.dto.UserUpdateRequest;
 import org.example.userservice.entity.User;
 import org.example.userservice.event.UserEvent;
+import org.example.userservice.exception.InvalidCursorException;
+import org.example.userservice.exception.PreconditionFailedException;
 import org.example.userservice.exception.ResourceNotFoundException;
 import org.example.userservice.exception.UserAlreadyExistsException;
-import org.example.userservice.messaging.UserEventProducer;
+import org.example.userservice.messaging.UserEventOutbox;
+import org.example.userservice.repository.EmailExistenceFilter;
+import org.example.userservice.repository.UserJdbcRepository;
 import org.example.userservice.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Profile("!reactive")
 @RequiredArgsConstructor
 @Slf4j
+@Timed(value = "user.service", description = "Time spent in UserService methods", histogram = true)
 public class UserServiceImpl implements UserService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int BATCH_CHUNK_SIZE = 500;
+    private static final char CURSOR_SEPARATOR = '|';
+
     private final UserRepository userRepository;
+    private final UserJdbcRepository userJdbcRepository;
     private final UserMapper userMapper;
-    private final UserEventProducer userEventProducer;
+    private final UserEventOutbox userEventOutbox;
+    private final EmailExistenceFilter emailFilter;
+    private final CacheManager cacheManager;
+    private final Validator validator;
 
     @Override
     @Transactional
     public UserResponse createUser(UserRequest userRequest) {
-        log.info("Creating user with email: {}", userRequest.getEmail());
-
-        if (userRepository.existsByEmail(userRequest.getEmail())) {
-            throw new UserAlreadyExistsException(
-                    String.format("User with email %s already exists", userRequest.getEmail())
-            );
-        }
+        log.debug("Creating user with email: {}", userRequest.getEmail());
 
-        User user = userMapper.toEntity(userRequest);
-        User savedUser = userRepository.save(user);
+        // No filter or cache check first: ON CONFLICT settles a taken email in the same statement
+        User savedUser = userRepository.insertIfEmailAbsent(
+                        userRequest.getName(), userRequest.getEmail(), userRequest.getAge())
+                .orElseThrow(() -> new UserAlreadyExistsException(
+                        String.format("User with email %s already exists", userRequest.getEmail())
+                ));
         log.info("User created with id: {}", savedUser.getId());
+        emailFilter.put(savedUser.getEmail());
 
         UserEvent event = new UserEvent(
                 "USER_CREATED",
@@ -50,62 +91,186 @@ public class UserServiceImpl implements UserService {
                 savedUser.getId(),
                 LocalDateTime.now()
         );
-        userEventProducer.sendUserEvent(event);
+        userEventOutbox.append(event);
 
         return userMapper.toResponse(savedUser);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional
+    public List<UserBatchItemResult> createUsers(List<UserRequest> userRequests) {
+        if (log.isDebugEnabled()) {
+            log.debug("Creating {} users in batch", userRequests.size());
+        }
+
+        UserBatchItemResult[] results = new UserBatchItemResult[userRequests.size()];
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+
+        for (int i = 0; i < userRequests.size(); i++) {
+            UserRequest request = userRequests.get(i);
+            Set<ConstraintViolation<UserRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                results[i] = new UserBatchItemResult(i, BatchItemStatus.INVALID, null, describe(violations));
+            } else if (candidates.putIfAbsent(request.getEmail(), i) != null) {
+                results[i] = new UserBatchItemResult(i, BatchItemStatus.CONFLICT, null,
+                        String.format("Email %s is duplicated in the batch", request.getEmail()));
+            }
+        }
+
+        Set<String> existingEmails = findExistingEmails(candidates.keySet());
+
+        List<Integer> indexes = new ArrayList<>(candidates.size());
+        candidates.forEach((email, index) -> {
+            if (existingEmails.contains(email)) {
+                results[index] = alreadyExists(index, email);
+            } else {
+                indexes.add(index);
+            }
+        });
+
+        // The filter may be missing emails added elsewhere (imports without events, outbox lag),
+        // so the insert itself skips taken emails and each of them becomes its own conflict
+        List<UserEvent> events = new ArrayList<>(indexes.size());
+        for (int from = 0; from < indexes.size(); from += BATCH_CHUNK_SIZE) {
+            List<Integer> chunk = indexes.subList(from, Math.min(from + BATCH_CHUNK_SIZE, indexes.size()));
+            List<UserRequest> requests = chunk.stream().map(userRequests::get).toList();
+            Map<String, UserResponse> created = new HashMap<>();
+            for (UserResponse user : userJdbcRepository.insertAllIfEmailAbsent(requests)) {
+                created.put(user.getEmail(), user);
+            }
+
+            for (int index : chunk) {
+                String email = userRequests.get(index).getEmail();
+                UserResponse savedUser = created.get(email);
+                emailFilter.put(email);
+                if (savedUser == null) {
+                    results[index] = alreadyExists(index, email);
+                    continue;
+                }
+                results[index] = new UserBatchItemResult(index, BatchItemStatus.CREATED, savedUser, null);
+                events.add(new UserEvent(
+                        "USER_CREATED",
+                        savedUser.getEmail(),
+                        savedUser.getName(),
+                        savedUser.getId(),
+                        LocalDateTime.now()
+                ));
+            }
+        }
+        if (log.isInfoEnabled()) {
+            log.info("Batch created {} of {} users", events.size(), userRequests.size());
+        }
+
+        userEventOutbox.appendAll(events);
+
+        return Arrays.asList(results);
+    }
+
+    @Override
+    // Not read-only: whatever this returns is cached, so it must come from the primary, not a lagging replica
+    @Transactional
+    @Cacheable(cacheNames = CacheConfig.USERS_CACHE, key = "#id")
     public UserResponse getUserById(Long id) {
-        log.info("Fetching user with id: {}", id);
-        User user = userRepository.findById(id)
+        log.debug("Fetching user with id: {}", id);
+        return userRepository.findResponseById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserPage getUsers(Long after, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        long cursor = after != null ? after : 0L;
+        if (log.isDebugEnabled()) {
+            log.debug("Fetching users after id: {}, limit: {}", cursor, pageSize);
+        }
+
+        List<UserResponse> content = userRepository.findResponsesAfter(cursor, Limit.of(pageSize + 1));
+        boolean hasNext = content.size() > pageSize;
+        if (hasNext) {
+            content = content.subList(0, pageSize);
+        }
+        Long nextCursor = hasNext ? content.get(content.size() - 1).getId() : null;
 
-        return userMapper.toResponse(user);
+        return new UserPage(content, nextCursor);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<UserResponse> getAllUsers() {
-        log.info("Fetching all users");
-        return userRepository.findAll().stream()
-                .map(userMapper::toResponse)
-                .collect(Collectors.toList());
+    public UserSearchPage searchUsers(UserSearchCriteria criteria) {
+        int pageSize = Math.min(Math.max(criteria.getLimit(), 1), MAX_PAGE_SIZE);
+        log.debug("Searching users by {}", criteria);
+
+        Object afterValue = null;
+        Long afterId = null;
+        if (criteria.getCursor() != null && !criteria.getCursor().isEmpty()) {
+            String[] cursor = decodeCursor(criteria.getCursor());
+            afterId = parseCursor(cursor[1], Long::valueOf);
+            afterValue = switch (criteria.getSort()) {
+                case ID, NAME -> cursor[0];
+                case AGE -> parseCursor(cursor[0], Integer::valueOf);
+                case CREATED_AT -> parseCursor(cursor[0], LocalDateTime::parse);
+            };
+        }
+
+        List<UserResponse> content = userJdbcRepository.search(criteria, afterValue, afterId, pageSize + 1);
+        boolean hasNext = content.size() > pageSize;
+        if (hasNext) {
+            content = content.subList(0, pageSize);
+        }
+        String nextCursor = hasNext ? encodeCursor(criteria.getSort(), content.get(content.size() - 1)) : null;
+
+        return new UserSearchPage(content, nextCursor);
     }
 
     @Override
     @Transactional
     public UserResponse updateUser(Long id, UserUpdateRequest updateRequest) {
-        log.info("Updating user with id: {}", id);
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        return updateUser(id, updateRequest, null);
+    }
 
-        if (updateRequest.getEmail() != null &&
-                !updateRequest.getEmail().equals(user.getEmail()) &&
-                userRepository.existsByEmail(updateRequest.getEmail())) {
+    @Override
+    @Transactional
+    public UserResponse updateUser(Long id, UserUpdateRequest updateRequest, Long expectedVersion) {
+        log.debug("Updating user with id: {}", id);
+
+        UserResponse updatedUser;
+        try {
+            updatedUser = userJdbcRepository.update(id, updateRequest, expectedVersion)
+                    .orElseThrow(() -> updateRejected(id, expectedVersion));
+        } catch (DuplicateKeyException e) {
             throw new UserAlreadyExistsException(
-                    String.format("User with email %s already exists", updateRequest.getEmail())
-            );
+                    String.format("User with email %s already exists", updateRequest.getEmail()), e);
         }
-
-        userMapper.updateEntity(updateRequest, user);
-        User updatedUser = userRepository.save(user);
         log.info("User updated with id: {}", updatedUser.getId());
+        evictAfterCommit(List.of(id));
+        if (updateRequest.getEmail() != null) {
+            emailFilter.put(updatedUser.getEmail());
+            emailFilter.recordStale(1);
+        }
+
+        UserEvent event = new UserEvent(
+                "USER_UPDATED",
+                updatedUser.getEmail(),
+                updatedUser.getName(),
+                updatedUser.getId(),
+                LocalDateTime.now()
+        );
+        userEventOutbox.append(event);
 
-        return userMapper.toResponse(updatedUser);
+        return updatedUser;
     }
 
     @Override
     @Transactional
     public void deleteUser(Long id) {
-        log.info("Deleting user with id: {}", id);
+        log.debug("Deleting user with id: {}", id);
 
-        User user = userRepository.findById(id)
+        UserResponse user = userJdbcRepository.deleteById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
-
-        userRepository.delete(user);
         log.info("User deleted with id: {}", id);
+        evictAfterCommit(List.of(id));
+        emailFilter.recordStale(1);
 
         UserEvent event = new UserEvent(
                 "USER_DELETED",
@@ -114,6 +279,236 @@ public class UserServiceImpl implements UserService {
                 user.getId(),
                 LocalDateTime.now()
         );
-        userEventProducer.sendUserEvent(event);
+        userEventOutbox.append(event);
+    }
+
+    private Map<String, Long> findIdsByEmail(Set<String> emails) {
+        Map<String, Long> owners = new HashMap<>();
+        List<String> emailList = new ArrayList<>(emails);
+        for (int from = 0; from < emailList.size(); from += BATCH_CHUNK_SIZE) {
+            List<String> chunk = emailList.subList(from, Math.min(from + BATCH_CHUNK_SIZE, emailList.size()));
+            owners.putAll(userJdbcRepository.findIdsByEmail(chunk));
+        }
+        return owners;
+    }
+
+    // Evicting before commit would let a concurrent read cache the old row again.
+    // Native SQL writes bypass Hibernate, so its second-level cache is evicted here as well.
+    private void evictAfterCommit(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Cache cache = cacheManager.getCache(CacheConfig.USERS_CACHE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (cache != null) {
+                    ids.forEach(cache::evict);
+                }
+                userRepository.evictFromSecondLevelCache(ids);
+            }
+        });
+    }
+
+    // Emails the filter rules out are new for sure; possible hits are checked against the
+    // second-level cache and only the rest go to the database
+    private Set<String> findExistingEmails(Set<String> emails) {
+        Set<String> existing = new HashSet<>();
+        List<String> emailList = emails.stream().filter(emailFilter::mightContain).toList();
+        for (int from = 0; from < emailList.size(); from += BATCH_CHUNK_SIZE) {
+            List<String> chunk = emailList.subList(from, Math.min(from + BATCH_CHUNK_SIZE, emailList.size()));
+            existing.addAll(userRepository.findExistingEmails(chunk));
+        }
+        emailFilter.recordFalsePositives(emailList.size() - existing.size());
+        return existing;
+    }
+
+    @Override
+    @Transactional
+    public List<UserBatchItemResult> updateUsers(List<UserBatchUpdateRequest> updateRequests) {
+        if (log.isDebugEnabled()) {
+            log.debug("Updating {} users in batch", updateRequests.size());
+        }
+
+        UserBatchItemResult[] results = new UserBatchItemResult[updateRequests.size()];
+        Map<Long, Integer> candidates = new LinkedHashMap<>();
+        Map<String, Long> requestedEmails = new HashMap<>();
+
+        for (int i = 0; i < updateRequests.size(); i++) {
+            UserBatchUpdateRequest request = updateRequests.get(i);
+            Set<ConstraintViolation<UserBatchUpdateRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                results[i] = new UserBatchItemResult(i, BatchItemStatus.INVALID, null, describe(violations));
+            } else if (request.getName() == null && request.getEmail() == null && request.getAge() == null) {
+                results[i] = new UserBatchItemResult(i, BatchItemStatus.INVALID, null, "Nothing to update");
+            } else if (candidates.putIfAbsent(request.getId(), i) != null) {
+                results[i] = new UserBatchItemResult(i, BatchItemStatus.CONFLICT, null,
+                        String.format("Id %d is duplicated in the batch", request.getId()));
+            } else if (request.getEmail() != null
+                    && requestedEmails.putIfAbsent(request.getEmail(), request.getId()) != null) {
+                candidates.remove(request.getId());
+                results[i] = new UserBatchItemResult(i, BatchItemStatus.CONFLICT, null,
+                        String.format("Email %s is duplicated in the batch", request.getEmail()));
+            }
+        }
+
+        Map<String, Long> emailOwners = findIdsByEmail(requestedEmails.keySet());
+
+        List<UserBatchUpdateRequest> updates = new ArrayList<>(candidates.size());
+        candidates.forEach((id, index) -> {
+            UserBatchUpdateRequest request = updateRequests.get(index);
+            Long owner = request.getEmail() != null ? emailOwners.get(request.getEmail()) : null;
+            if (owner != null && !owner.equals(id)) {
+                results[index] = new UserBatchItemResult(index, BatchItemStatus.CONFLICT, null,
+                        String.format("User with email %s already exists", request.getEmail()));
+            } else {
+                updates.add(request);
+            }
+        });
+
+        List<UserEvent> events = new ArrayList<>(updates.size());
+        List<Long> updatedIds = new ArrayList<>(updates.size());
+        for (int from = 0; from < updates.size(); from += BATCH_CHUNK_SIZE) {
+            List<UserBatchUpdateRequest> chunk = updates.subList(from, Math.min(from + BATCH_CHUNK_SIZE, updates.size()));
+            for (UserResponse user : userJdbcRepository.updateAll(chunk)) {
+                int index = candidates.get(user.getId());
+                results[index] = new UserBatchItemResult(index, BatchItemStatus.UPDATED, user, null);
+                updatedIds.add(user.getId());
+                emailFilter.put(user.getEmail());
+                events.add(new UserEvent(
+                        "USER_UPDATED",
+                        user.getEmail(),
+                        user.getName(),
+                        user.getId(),
+                        LocalDateTime.now()
+                ));
+            }
+        }
+        for (UserBatchUpdateRequest update : updates) {
+            int index = candidates.get(update.getId());
+            if (results[index] == null) {
+                results[index] = new UserBatchItemResult(index, BatchItemStatus.NOT_FOUND, null,
+                        "User not found with id: " + update.getId());
+            }
+        }
+        if (log.isInfoEnabled()) {
+            log.info("Batch updated {} of {} users", events.size(), updateRequests.size());
+        }
+
+        userEventOutbox.appendAll(events);
+        evictAfterCommit(updatedIds);
+        emailFilter.recordStale(updates.stream().filter(update -> update.getEmail() != null).count());
+
+        return Arrays.asList(results);
+    }
+
+    @Override
+    @Transactional
+    public List<UserBatchItemResult> deleteUsers(List<Long> ids) {
+        if (log.isDebugEnabled()) {
+            log.debug("Deleting {} users in batch", ids.size());
+        }
+
+        UserBatchItemResult[] results = new UserBatchItemResult[ids.size()];
+        Map<Long, Integer> candidates = new LinkedHashMap<>();
+
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (id == null) {
+                results[i] = new UserBatchItemResult(i, BatchItemStatus.INVALID, null, "Id cannot be null");
+            } else if (candidates.putIfAbsent(id, i) != null) {
+                results[i] = new UserBatchItemResult(i, BatchItemStatus.CONFLICT, null,
+                        String.format("Id %d is duplicated in the batch", id));
+            }
+        }
+
+        List<Long> candidateIds = new ArrayList<>(candidates.keySet());
+        List<UserEvent> events = new ArrayList<>(candidateIds.size());
+        List<Long> deletedIds = new ArrayList<>(candidateIds.size());
+        for (int from = 0; from < candidateIds.size(); from += BATCH_CHUNK_SIZE) {
+            List<Long> chunk = candidateIds.subList(from, Math.min(from + BATCH_CHUNK_SIZE, candidateIds.size()));
+            for (UserResponse user : userJdbcRepository.deleteAllById(chunk)) {
+                int index = candidates.get(user.getId());
+                results[index] = new UserBatchItemResult(index, BatchItemStatus.DELETED, user, null);
+                deletedIds.add(user.getId());
+                events.add(new UserEvent(
+                        "USER_DELETED",
+                        user.getEmail(),
+                        user.getName(),
+                        user.getId(),
+                        LocalDateTime.now()
+                ));
+            }
+        }
+        candidates.forEach((id, index) -> {
+            if (results[index] == null) {
+                results[index] = new UserBatchItemResult(index, BatchItemStatus.NOT_FOUND, null,
+                        "User not found with id: " + id);
+            }
+        });
+        if (log.isInfoEnabled()) {
+            log.info("Batch deleted {} of {} users", events.size(), ids.size());
+        }
+
+        userEventOutbox.appendAll(events);
+        evictAfterCommit(deletedIds);
+        emailFilter.recordStale(deletedIds.size());
+
+        return Arrays.asList(results);
+    }
+
+    private static UserBatchItemResult alreadyExists(int index, String email) {
+        return new UserBatchItemResult(index, BatchItemStatus.CONFLICT, null,
+                String.format("User with email %s already exists", email));
+    }
+
+    // Only reached when the UPDATE matched no row, so the extra lookup stays off the happy path
+    private RuntimeException updateRejected(Long id, Long expectedVersion) {
+        if (expectedVersion != null && userRepository.findVersionById(id).isPresent()) {
+            return new PreconditionFailedException(
+                    "User with id " + id + " no longer has version " + expectedVersion);
+        }
+        return new ResourceNotFoundException("User not found with id: " + id);
+    }
+
+    // Cursor is base64url("<sort value>|<id>"); the id is last, so the value may contain '|'
+    private static String encodeCursor(UserSearchSort sort, UserResponse last) {
+        Object value = switch (sort) {
+            case ID -> "";
+            case NAME -> last.getName();
+            case AGE -> last.getAge();
+            case CREATED_AT -> last.getCreatedAt();
+        };
+        String cursor = String.valueOf(value) + CURSOR_SEPARATOR + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor, e);
+        }
+        int separator = decoded.lastIndexOf(CURSOR_SEPARATOR);
+        if (separator < 0) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+        return new String[]{decoded.substring(0, separator), decoded.substring(separator + 1)};
+    }
+
+    private static <T> T parseCursor(String value, Function<String, T> parser) {
+        try {
+            return parser.apply(value);
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Invalid cursor value: " + value, e);
+        }
+    }
+
+    private static String describe(Set<? extends ConstraintViolation<?>> violations) {
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
     }
 }
\ No newline at end of file
@@ -1,9 +1,47 @@
 CREATE SCHEMA IF NOT EXISTS user_service;
 
+-- INCREMENT BY must match allocationSize of the pooled generator on User.id
+CREATE SEQUENCE IF NOT EXISTS user_service.users_seq INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS user_service.users (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     name VARCHAR(255) NOT NULL,
     email VARCHAR(255) UNIQUE NOT NULL,
     age INTEGER,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+ALTER TABLE user_service.users
+    ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Keep the sequence ahead of ids issued before it existed (BIGSERIAL tables)
+SELECT setval('user_service.users_seq',
+              GREATEST((SELECT COALESCE(MAX(id), 0) FROM user_service.users),
+                       (SELECT last_value FROM user_service.users_seq),
+                       1));
+
+CREATE SEQUENCE IF NOT EXISTS user_service.user_event_outbox_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS user_service.user_event_outbox (
+    id BIGINT PRIMARY KEY,
+    event_type VARCHAR(50) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    user_name VARCHAR(255),
+    user_id BIGINT,
+    occurred_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    sent_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS user_event_outbox_unsent_idx
+    ON user_service.user_event_outbox (id) WHERE sent_at IS NULL;
+
+-- Only the instance holding this lease relays the outbox, so events are published in id order
+CREATE TABLE IF NOT EXISTS user_service.outbox_relay_lease (
+    name VARCHAR(50) PRIMARY KEY,
+    owner VARCHAR(255) NOT NULL,
+    expires_at TIMESTAMP NOT NULL
 );
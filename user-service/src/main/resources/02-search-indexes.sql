@@ -0,0 +1,20 @@
+-- Indexes behind GET /api/users/search. Each ends with id so that the keyset
+-- predicate (sort key, id) > (:value, :id) and the ORDER BY are served by one
+-- index range scan. CONCURRENTLY keeps writes going while a large table is indexed.
+-- Run by SearchIndexInitializer only when one of these is missing or INVALID.
+
+-- "C" collation lets the same btree answer LIKE 'prefix%' and ORDER BY lower(name)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS users_lower_name_id_idx
+    ON user_service.users ((lower(name) COLLATE "C"), id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS users_email_domain_id_idx
+    ON user_service.users ((lower(split_part(email, '@', 2))), id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS users_age_id_idx
+    ON user_service.users (age, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS users_created_at_id_idx
+    ON user_service.users (created_at, id);
+
+-- Expression indexes get no statistics until the table is analyzed
+ANALYZE user_service.users;
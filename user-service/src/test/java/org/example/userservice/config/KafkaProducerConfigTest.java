@@ -0,0 +1,82 @@
+package org.example.userservice.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.apache.kafka.clients.producer.ProducerConfig.ACKS_CONFIG;
+import static org.apache.kafka.clients.producer.ProducerConfig.BATCH_SIZE_CONFIG;
+import static org.apache.kafka.clients.producer.ProducerConfig.COMPRESSION_TYPE_CONFIG;
+import static org.apache.kafka.clients.producer.ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG;
+import static org.apache.kafka.clients.producer.ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG;
+import static org.apache.kafka.clients.producer.ProducerConfig.LINGER_MS_CONFIG;
+import static org.apache.kafka.clients.producer.ProducerConfig.MAX_BLOCK_MS_CONFIG;
+import static org.apache.kafka.clients.producer.ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class KafkaProducerConfigTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "LOW_LATENCY, 0, 16384, none",
+            "BALANCED, 5, 65536, lz4",
+            "THROUGHPUT, 20, 262144, zstd"
+    })
+    void producerConfigs_Profile_AppliesProfileDefaults(ProducerProfile profile, int lingerMs, int batchSize,
+                                                        String compressionType) {
+        KafkaProducerProperties properties = new KafkaProducerProperties();
+        properties.setProfile(profile);
+
+        Map<String, Object> configs = KafkaProducerConfig.producerConfigs(properties);
+
+        assertEquals(lingerMs, configs.get(LINGER_MS_CONFIG));
+        assertEquals(batchSize, configs.get(BATCH_SIZE_CONFIG));
+        assertEquals(compressionType, configs.get(COMPRESSION_TYPE_CONFIG));
+        assertEquals("all", configs.get(ACKS_CONFIG));
+        assertEquals(true, configs.get(ENABLE_IDEMPOTENCE_CONFIG));
+        assertEquals(1_000, configs.get(MAX_BLOCK_MS_CONFIG));
+        assertEquals(60_000, configs.get(DELIVERY_TIMEOUT_MS_CONFIG));
+        assertEquals(30_000, configs.get(REQUEST_TIMEOUT_MS_CONFIG));
+    }
+
+    @Test
+    void producerConfigs_ExplicitValues_OverrideProfile() {
+        KafkaProducerProperties properties = new KafkaProducerProperties();
+        properties.setProfile(ProducerProfile.THROUGHPUT);
+        properties.setLingerMs(1);
+        properties.setBatchSize(8 * 1024);
+        properties.setCompressionType("gzip");
+
+        Map<String, Object> configs = KafkaProducerConfig.producerConfigs(properties);
+
+        assertEquals(1, configs.get(LINGER_MS_CONFIG));
+        assertEquals(8 * 1024, configs.get(BATCH_SIZE_CONFIG));
+        assertEquals("gzip", configs.get(COMPRESSION_TYPE_CONFIG));
+    }
+
+    @Test
+    void producerConfigs_AcksOne_DisablesIdempotence() {
+        KafkaProducerProperties properties = new KafkaProducerProperties();
+        properties.setAcks("1");
+
+        Map<String, Object> configs = KafkaProducerConfig.producerConfigs(properties);
+
+        assertEquals("1", configs.get(ACKS_CONFIG));
+        assertEquals(false, configs.get(ENABLE_IDEMPOTENCE_CONFIG));
+    }
+
+    @Test
+    void producerConfigs_ShortDeliveryTimeout_KeepsRequestTimeoutWithinIt() {
+        KafkaProducerProperties properties = new KafkaProducerProperties();
+        properties.setProfile(ProducerProfile.THROUGHPUT);
+        properties.setDeliveryTimeout(Duration.ofSeconds(10));
+
+        Map<String, Object> configs = KafkaProducerConfig.producerConfigs(properties);
+
+        assertEquals(10_000, configs.get(DELIVERY_TIMEOUT_MS_CONFIG));
+        assertEquals(10_000 - 20, configs.get(REQUEST_TIMEOUT_MS_CONFIG));
+    }
+}
@@ -1,10 +1,18 @@
 package org.example.userservice.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.userservice.dto.BatchItemStatus;
+import org.example.userservice.dto.UserBatchItemResult;
+import org.example.userservice.dto.UserBatchUpdateRequest;
+import org.example.userservice.dto.UserPage;
 import org.example.userservice.dto.UserRequest;
 import org.example.userservice.dto.UserResponse;
+import org.example.userservice.dto.UserSearchCriteria;
+import org.example.userservice.dto.UserSearchPage;
+import org.example.userservice.dto.UserSearchSort;
 import org.example.userservice.dto.UserUpdateRequest;
 import org.example.userservice.exception.GlobalExceptionHandler;
+import org.example.userservice.exception.PreconditionFailedException;
 import org.example.userservice.exception.ResourceNotFoundException;
 import org.example.userservice.exception.UserAlreadyExistsException;
 import org.example.userservice.service.UserService;
@@ -13,14 +21,23 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.LongStream;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -110,6 +127,90 @@ class UserControllerTest {
         verify(userService).createUser(any(UserRequest.class));
     }
 
+    @Test
+    void createUser_UniqueViolation_ReturnsConflict() throws Exception {
+        UserRequest request = new UserRequest();
+        request.setName("John");
+        request.setEmail("existing@example.com");
+        request.setAge(25);
+
+        when(userService.createUser(any(UserRequest.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key",
+                        new SQLException("duplicate key value violates unique constraint", "23505")));
+
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error", is("Conflict")));
+
+        verify(userService).createUser(any(UserRequest.class));
+    }
+
+    @Test
+    void createUsers_BatchRequest_ReturnsPerItemResults() throws Exception {
+        UserRequest first = new UserRequest();
+        first.setName("John Doe");
+        first.setEmail("john@example.com");
+        first.setAge(25);
+
+        UserRequest second = new UserRequest();
+        second.setName("Jane Doe");
+        second.setEmail("existing@example.com");
+        second.setAge(30);
+
+        UserResponse created = new UserResponse();
+        created.setId(1L);
+        created.setName("John Doe");
+        created.setEmail("john@example.com");
+        created.setAge(25);
+
+        when(userService.createUsers(anyList())).thenReturn(List.of(
+                new UserBatchItemResult(0, BatchItemStatus.CREATED, created, null),
+                new UserBatchItemResult(1, BatchItemStatus.CONFLICT, null, "User already exists")
+        ));
+
+        mockMvc.perform(post("/api/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(first, second))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].status", is("CREATED")))
+                .andExpect(jsonPath("$[0].user.id", is(1)))
+                .andExpect(jsonPath("$[1].status", is("CONFLICT")))
+                .andExpect(jsonPath("$[1].user").doesNotExist());
+
+        verify(userService).createUsers(anyList());
+    }
+
+    @Test
+    void createUsers_OversizedBatch_ReturnsBadRequest() throws Exception {
+        UserRequest request = new UserRequest();
+        request.setName("John Doe");
+        request.setEmail("john@example.com");
+        request.setAge(25);
+
+        mockMvc.perform(post("/api/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                Collections.nCopies(UserController.MAX_BATCH_SIZE + 1, request))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("exceeds the maximum")));
+
+        verify(userService, never()).createUsers(anyList());
+    }
+
+    @Test
+    void createUsers_NullItem_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\": \"John Doe\", \"email\": \"john@example.com\", \"age\": 25}, null]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Batch item 1 is null")));
+
+        verify(userService, never()).createUsers(anyList());
+    }
+
     // ========== GET USER BY ID ==========
     @Test
     void getUserById_ExistingId_ReturnsUser() throws Exception {
@@ -141,9 +242,61 @@ class UserControllerTest {
         verify(userService).getUserById(999L);
     }
 
+    @Test
+    void getUserById_ExistingId_ReturnsETag() throws Exception {
+        UserResponse response = new UserResponse();
+        response.setId(1L);
+        response.setName("John Doe");
+        response.setVersion(3L);
+        response.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+
+        when(userService.getUserById(1L)).thenReturn(response);
+
+        mockMvc.perform(get("/api/users/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    void getUserById_MatchingETag_ReturnsNotModified() throws Exception {
+        UserResponse response = new UserResponse();
+        response.setId(1L);
+        response.setVersion(3L);
+        response.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+
+        when(userService.getUserById(1L)).thenReturn(response);
+
+        mockMvc.perform(get("/api/users/{id}", 1L)
+                        .header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(userService).getUserById(1L);
+        verifyNoMoreInteractions(userService);
+    }
+
+    @Test
+    void getUserById_StaleETag_ReturnsUser() throws Exception {
+        UserResponse response = new UserResponse();
+        response.setId(1L);
+        response.setName("John Doe");
+        response.setVersion(4L);
+        response.setUpdatedAt(LocalDateTime.of(2024, 1, 2, 12, 0));
+
+        when(userService.getUserById(1L)).thenReturn(response);
+
+        mockMvc.perform(get("/api/users/{id}", 1L)
+                        .header("If-None-Match", "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.name", is("John Doe")));
+    }
+
     // ========== GET ALL USERS ==========
     @Test
-    void getAllUsers_ReturnsUserList() throws Exception {
+    void getUsers_ReturnsUserList() throws Exception {
         UserResponse user1 = new UserResponse();
         user1.setId(1L);
         user1.setName("John");
@@ -154,17 +307,81 @@ class UserControllerTest {
         user2.setName("Jane");
         user2.setEmail("jane@example.com");
 
-        when(userService.getAllUsers()).thenReturn(List.of(user1, user2));
+        when(userService.getUsers(null, 100)).thenReturn(new UserPage(List.of(user1, user2), null));
 
         mockMvc.perform(get("/api/users"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
                 .andExpect(jsonPath("$", hasSize(2)))
                 .andExpect(jsonPath("$[0].id", is(1)))
                 .andExpect(jsonPath("$[0].name", is("John")))
                 .andExpect(jsonPath("$[1].id", is(2)))
                 .andExpect(jsonPath("$[1].name", is("Jane")));
 
-        verify(userService).getAllUsers();
+        verify(userService).getUsers(null, 100);
+    }
+
+    @Test
+    void getUsers_MorePagesAvailable_ReturnsNextCursor() throws Exception {
+        UserResponse user = new UserResponse();
+        user.setId(11L);
+        user.setName("John");
+        user.setEmail("john@example.com");
+
+        when(userService.getUsers(10L, 1)).thenReturn(new UserPage(List.of(user), 11L));
+
+        mockMvc.perform(get("/api/users")
+                        .param("after", "10")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "11"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(11)));
+
+        verify(userService).getUsers(10L, 1);
+    }
+
+    // ========== SEARCH USERS ==========
+    @Test
+    void searchUsers_WithFilters_ReturnsNextCursor() throws Exception {
+        UserResponse user = new UserResponse();
+        user.setId(7L);
+        user.setName("John");
+        user.setEmail("john@example.com");
+
+        when(userService.searchUsers(any(UserSearchCriteria.class)))
+                .thenReturn(new UserSearchPage(List.of(user), "Sm9obnw3"));
+
+        mockMvc.perform(get("/api/users/search")
+                        .param("namePrefix", "jo")
+                        .param("emailDomain", "example.com")
+                        .param("minAge", "18")
+                        .param("sort", "NAME")
+                        .param("direction", "DESC")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "Sm9obnw3"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(7)));
+
+        verify(userService).searchUsers(argThat(criteria ->
+                "jo".equals(criteria.getNamePrefix())
+                        && "example.com".equals(criteria.getEmailDomain())
+                        && criteria.getMinAge() == 18
+                        && criteria.getSort() == UserSearchSort.NAME
+                        && criteria.getDirection() == Sort.Direction.DESC
+                        && criteria.getLimit() == 1));
+    }
+
+    @Test
+    void searchUsers_InvalidAgeRange_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/users/search")
+                        .param("minAge", "50")
+                        .param("maxAge", "20"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.ageRangeValid").exists());
+
+        verify(userService, never()).searchUsers(any());
     }
 
     // ========== UPDATE USER ==========
@@ -194,6 +411,118 @@ class UserControllerTest {
         verify(userService).updateUser(eq(1L), any(UserUpdateRequest.class));
     }
 
+    @Test
+    void patchUser_WithIfMatch_PassesExpectedVersion() throws Exception {
+        UserUpdateRequest updateRequest = new UserUpdateRequest();
+        updateRequest.setAge(31);
+
+        UserResponse response = new UserResponse();
+        response.setId(1L);
+        response.setName("John Doe");
+        response.setAge(31);
+        response.setVersion(4L);
+
+        when(userService.updateUser(eq(1L), any(UserUpdateRequest.class), eq(3L))).thenReturn(response);
+
+        mockMvc.perform(patch("/api/users/{id}", 1L)
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.age", is(31)));
+
+        verify(userService).updateUser(eq(1L), any(UserUpdateRequest.class), eq(3L));
+    }
+
+    @Test
+    void patchUser_StaleVersion_ReturnsPreconditionFailed() throws Exception {
+        UserUpdateRequest updateRequest = new UserUpdateRequest();
+        updateRequest.setName("John Updated");
+
+        when(userService.updateUser(eq(1L), any(UserUpdateRequest.class), eq(2L)))
+                .thenThrow(new PreconditionFailedException("User with id 1 no longer has version 2"));
+
+        mockMvc.perform(patch("/api/users/{id}", 1L)
+                        .header("If-Match", "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void updateUsers_BatchRequest_ReturnsPerItemResults() throws Exception {
+        UserBatchUpdateRequest first = new UserBatchUpdateRequest();
+        first.setId(1L);
+        first.setAge(40);
+
+        UserBatchUpdateRequest second = new UserBatchUpdateRequest();
+        second.setId(2L);
+        second.setName("Missing");
+
+        UserResponse updated = new UserResponse();
+        updated.setId(1L);
+        updated.setAge(40);
+
+        when(userService.updateUsers(anyList())).thenReturn(List.of(
+                new UserBatchItemResult(0, BatchItemStatus.UPDATED, updated, null),
+                new UserBatchItemResult(1, BatchItemStatus.NOT_FOUND, null, "User not found with id: 2")
+        ));
+
+        mockMvc.perform(patch("/api/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(first, second))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is("UPDATED")))
+                .andExpect(jsonPath("$[0].user.age", is(40)))
+                .andExpect(jsonPath("$[1].status", is("NOT_FOUND")));
+
+        verify(userService).updateUsers(argThat(requests ->
+                requests.size() == 2 && requests.get(0).getId() == 1L && requests.get(0).getAge() == 40));
+    }
+
+    @Test
+    void deleteUsers_BatchRequest_ReturnsPerItemResults() throws Exception {
+        when(userService.deleteUsers(List.of(1L, 2L))).thenReturn(List.of(
+                new UserBatchItemResult(0, BatchItemStatus.DELETED, null, null),
+                new UserBatchItemResult(1, BatchItemStatus.NOT_FOUND, null, "User not found with id: 2")
+        ));
+
+        mockMvc.perform(delete("/api/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 2]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].status", is("DELETED")))
+                .andExpect(jsonPath("$[1].status", is("NOT_FOUND")));
+
+        verify(userService).deleteUsers(List.of(1L, 2L));
+        verify(userService, never()).deleteUser(anyLong());
+    }
+
+    @Test
+    void updateUsers_NullItem_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(patch("/api/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[null, {\"id\": 1, \"age\": 40}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Batch item 0 is null")));
+
+        verify(userService, never()).updateUsers(anyList());
+    }
+
+    @Test
+    void deleteUsers_OversizedBatch_ReturnsBadRequest() throws Exception {
+        List<Long> ids = LongStream.rangeClosed(1, UserController.MAX_BATCH_SIZE + 1).boxed().toList();
+
+        mockMvc.perform(delete("/api/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ids)))
+                .andExpect(status().isBadRequest());
+
+        verify(userService, never()).deleteUsers(anyList());
+    }
+
     // ========== DELETE USER ==========
     @Test
     void deleteUser_ExistingId_ReturnsNoContent() throws Exception {
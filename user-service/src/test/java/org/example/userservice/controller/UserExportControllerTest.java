@@ -0,0 +1,77 @@
+package org.example.userservice.controller;
+
+import org.example.userservice.dto.UserDataFormat;
+import org.example.userservice.service.UserExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class UserExportControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private UserExportService userExportService;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new UserExportController(userExportService)).build();
+    }
+
+    @Test
+    void exportUsers_DefaultFormat_StreamsNdjsonAttachment() throws Exception {
+        writes(UserDataFormat.NDJSON, "{\"id\":1}\n{\"id\":2}\n");
+
+        MvcResult result = mockMvc.perform(get("/api/users/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.ndjson\""))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
+    @Test
+    void exportUsers_Csv_StreamsCsvAttachment() throws Exception {
+        writes(UserDataFormat.CSV, "id,name,email,age,createdAt\n");
+
+        MvcResult result = mockMvc.perform(get("/api/users/export").param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.csv\""))
+                .andExpect(content().string("id,name,email,age,createdAt\n"));
+    }
+
+    private void writes(UserDataFormat format, String body) {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write(body.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(userExportService).exportUsers(eq(format), any(OutputStream.class));
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.userservice.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReadYourWritesFilterTest {
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5));
+
+    @Test
+    void write_ShouldPinRequestAndSetCookie() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(pinnedDuring(request, response));
+        Cookie cookie = response.getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        assertNotNull(cookie);
+        assertTrue(Long.parseLong(cookie.getValue()) > System.currentTimeMillis());
+        assertFalse(ReadYourWritesContext.isPinnedToPrimary());
+    }
+
+    @Test
+    void read_WithoutCookieOrHeader_IsNotPinned() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(pinnedDuring(new MockHttpServletRequest("GET", "/api/users/1"), response));
+        assertNull(response.getCookie(ReadYourWritesFilter.COOKIE_NAME));
+    }
+
+    @Test
+    void read_WithHeader_IsPinned() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/1");
+        request.addHeader(ReadYourWritesFilter.HEADER_NAME, "true");
+
+        assertTrue(pinnedDuring(request, new MockHttpServletResponse()));
+    }
+
+    @Test
+    void read_WithinCookieWindow_IsPinned() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/1");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME,
+                String.valueOf(System.currentTimeMillis() + 5_000)));
+
+        assertTrue(pinnedDuring(request, new MockHttpServletResponse()));
+    }
+
+    @Test
+    void read_WithExpiredOrMalformedCookie_IsNotPinned() throws Exception {
+        MockHttpServletRequest expired = new MockHttpServletRequest("GET", "/api/users/1");
+        expired.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME,
+                String.valueOf(System.currentTimeMillis() - 1_000)));
+        MockHttpServletRequest malformed = new MockHttpServletRequest("GET", "/api/users/1");
+        malformed.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, "soon"));
+
+        assertFalse(pinnedDuring(expired, new MockHttpServletResponse()));
+        assertFalse(pinnedDuring(malformed, new MockHttpServletResponse()));
+    }
+
+    private boolean pinnedDuring(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        AtomicBoolean pinned = new AtomicBoolean();
+        FilterChain chain = (req, res) -> pinned.set(ReadYourWritesContext.isPinnedToPrimary());
+        filter.doFilter(request, response, chain);
+        return pinned.get();
+    }
+}
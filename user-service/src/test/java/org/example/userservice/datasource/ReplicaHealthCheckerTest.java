@@ -0,0 +1,66 @@
+package org.example.userservice.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.userservice.support.TestPostgres;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaHealthCheckerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void check_DatabaseNotInRecovery_ReportsNoLag() {
+        ReplicaRoutingDataSource routingDataSource = routing(Map.of("replica-1", TestPostgres.dataSource()));
+
+        new ReplicaHealthChecker(routingDataSource, Duration.ZERO, meterRegistry).check();
+
+        assertEquals(1, routingDataSource.getHealthyCount());
+        assertEquals(1.0, meterRegistry.get("user.datasource.replicas.healthy").gauge().value());
+    }
+
+    @Test
+    void check_ShouldTakeLaggingAndUnreachableReplicasOutOfRotation() throws SQLException {
+        DataSource unreachable = mock(DataSource.class);
+        when(unreachable.getConnection()).thenThrow(new SQLException("connection refused"));
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("caught-up", replicaReportingLag(1_000));
+        replicas.put("lagging", replicaReportingLag(60_000));
+        replicas.put("unreachable", unreachable);
+        ReplicaRoutingDataSource routingDataSource = routing(replicas);
+        replicas.keySet().forEach(name -> routingDataSource.markHealthy(name, true));
+
+        new ReplicaHealthChecker(routingDataSource, Duration.ofSeconds(30), meterRegistry).check();
+
+        assertEquals(1, routingDataSource.getHealthyCount());
+    }
+
+    private static ReplicaRoutingDataSource routing(Map<String, DataSource> replicas) {
+        return new ReplicaRoutingDataSource(mock(DataSource.class), replicas);
+    }
+
+    private static DataSource replicaReportingLag(long lagMillis) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(ReplicaHealthChecker.LAG_SQL)).thenReturn(rs);
+        when(rs.next()).thenReturn(true);
+        when(rs.getLong(1)).thenReturn(lagMillis);
+        return dataSource;
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.userservice.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica1;
+
+    @Mock
+    private DataSource replica2;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replica1);
+        replicas.put("replica-2", replica2);
+        routingDataSource = new ReplicaRoutingDataSource(primary, replicas);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWritesContext.clear();
+    }
+
+    @Test
+    void getConnection_NoHealthyReplica_UsesPrimary() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(connection);
+
+        assertSame(connection, routingDataSource.getConnection());
+        verify(replica1, never()).getConnection();
+        verify(replica2, never()).getConnection();
+    }
+
+    @Test
+    void getConnection_HealthyReplicas_RoundRobin() throws SQLException {
+        Connection first = mock(Connection.class);
+        Connection second = mock(Connection.class);
+        when(replica1.getConnection()).thenReturn(first);
+        when(replica2.getConnection()).thenReturn(second);
+        routingDataSource.markHealthy("replica-1", true);
+        routingDataSource.markHealthy("replica-2", true);
+
+        assertSame(first, routingDataSource.getConnection());
+        assertSame(second, routingDataSource.getConnection());
+        assertSame(first, routingDataSource.getConnection());
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    void getConnection_PinnedToPrimary_UsesPrimary() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(connection);
+        routingDataSource.markHealthy("replica-1", true);
+        ReadYourWritesContext.pinToPrimary();
+
+        assertSame(connection, routingDataSource.getConnection());
+        verify(replica1, never()).getConnection();
+    }
+
+    @Test
+    void getConnection_ReplicaRefuses_FallsBackToPrimaryAndTakesReplicaOutOfRotation() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(replica1.getConnection()).thenThrow(new SQLException("connection refused"));
+        when(primary.getConnection()).thenReturn(connection);
+        routingDataSource.markHealthy("replica-1", true);
+
+        assertSame(connection, routingDataSource.getConnection());
+        assertEquals(0, routingDataSource.getHealthyCount());
+    }
+
+    @Test
+    void getConnectionWithCredentials_ShouldDelegateToResolvedTarget() throws SQLException {
+        Connection replicaConnection = mock(Connection.class);
+        Connection primaryConnection = mock(Connection.class);
+        when(replica1.getConnection("reader", "secret")).thenReturn(replicaConnection);
+        when(primary.getConnection("reader", "secret")).thenReturn(primaryConnection);
+        routingDataSource.markHealthy("replica-1", true);
+
+        assertSame(replicaConnection, routingDataSource.getConnection("reader", "secret"));
+
+        ReadYourWritesContext.pinToPrimary();
+        assertSame(primaryConnection, routingDataSource.getConnection("reader", "secret"));
+    }
+}
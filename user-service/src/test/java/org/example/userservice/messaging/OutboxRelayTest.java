@@ -0,0 +1,130 @@
+package org.example.userservice.messaging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.userservice.config.OutboxProperties;
+import org.example.userservice.entity.OutboxEvent;
+import org.example.userservice.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private UserEventProducer userEventProducer;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        OutboxProperties properties = new OutboxProperties();
+        properties.setBatchSize(2);
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new OutboxRelay(outboxEventRepository, userEventProducer, properties, transactionManager, meterRegistry);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> mock(TransactionStatus.class));
+    }
+
+    @Test
+    void relay_ShouldPublishOutsideTheClaimingTransaction() {
+        when(outboxEventRepository.tryAcquireLease(eq(OutboxRelay.LEASE_NAME), anyString(), anyLong())).thenReturn(1);
+        when(outboxEventRepository.findUnsent(2)).thenReturn(List.of(event(1L)));
+        when(userEventProducer.sendUserEvents(anyList())).thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relay();
+
+        InOrder order = inOrder(outboxEventRepository, transactionManager, userEventProducer);
+        order.verify(outboxEventRepository).findUnsent(2);
+        order.verify(transactionManager).commit(any());
+        order.verify(userEventProducer).sendUserEvents(anyList());
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(outboxEventRepository).markSent(eq(List.of(1L)), any(LocalDateTime.class));
+        order.verify(transactionManager).commit(any());
+        assertEquals(1.0, meterRegistry.counter("outbox.relay.events").count());
+    }
+
+    @Test
+    void relay_ShouldKeepDrainingWhileBatchesAreFull() {
+        when(outboxEventRepository.tryAcquireLease(eq(OutboxRelay.LEASE_NAME), anyString(), anyLong())).thenReturn(1);
+        when(outboxEventRepository.findUnsent(2))
+                .thenReturn(List.of(event(1L), event(2L)))
+                .thenReturn(List.of(event(3L)));
+        when(userEventProducer.sendUserEvents(anyList())).thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relay();
+
+        verify(outboxEventRepository).markSent(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+        verify(outboxEventRepository).markSent(eq(List.of(3L)), any(LocalDateTime.class));
+        assertEquals(3.0, meterRegistry.counter("outbox.relay.events").count());
+    }
+
+    @Test
+    void relay_WithoutLease_ShouldNotReadOrPublish() {
+        when(outboxEventRepository.tryAcquireLease(eq(OutboxRelay.LEASE_NAME), anyString(), anyLong())).thenReturn(0);
+
+        relay.relay();
+
+        verify(outboxEventRepository, never()).findUnsent(anyInt());
+        verify(userEventProducer, never()).sendUserEvents(anyList());
+    }
+
+    @Test
+    void relay_WhenKafkaFails_ShouldLeaveBatchUnsent() {
+        when(outboxEventRepository.tryAcquireLease(eq(OutboxRelay.LEASE_NAME), anyString(), anyLong())).thenReturn(1);
+        when(outboxEventRepository.findUnsent(2)).thenReturn(List.of(event(1L)));
+        when(userEventProducer.sendUserEvents(anyList()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        relay.relay();
+
+        verify(outboxEventRepository, never()).markSent(anyList(), any());
+        assertEquals(1.0, meterRegistry.counter("outbox.relay.failures").count());
+    }
+
+    @Test
+    void releaseLease_ShouldReleaseOnlyThisInstancesLease() {
+        relay.releaseLease();
+
+        verify(outboxEventRepository).releaseLease(eq(OutboxRelay.LEASE_NAME), anyString());
+    }
+
+    private static OutboxEvent event(Long id) {
+        OutboxEvent event = new OutboxEvent();
+        event.setId(id);
+        event.setEventType("USER_CREATED");
+        event.setEmail("user" + id + "@example.com");
+        event.setUserId(id);
+        event.setOccurredAt(LocalDateTime.now());
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+}
@@ -0,0 +1,133 @@
+package org.example.userservice.messaging;
+
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.example.userservice.config.CacheConfig;
+import org.example.userservice.event.UserEvent;
+import org.example.userservice.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+
+@SpringJUnitConfig
+@EmbeddedKafka(partitions = 2, topics = UserEventProducer.TOPIC)
+class UserCacheInvalidationListenerTest {
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    @Test
+    void onUserEvent_ShouldEvictUsersFromEveryPartitionWithoutJoiningAGroup() throws Exception {
+        Cache cache = cacheManager.getCache(CacheConfig.USERS_CACHE);
+        cache.put(1L, "first");
+        cache.put(2L, "second");
+
+        DefaultKafkaProducerFactory<String, UserEvent> producerFactory = producerFactory();
+        KafkaTemplate<String, UserEvent> template = new KafkaTemplate<>(producerFactory);
+        try {
+            // The listener starts from the latest offset, so keep publishing until its position is set
+            await().atMost(Duration.ofSeconds(30)).pollInterval(Duration.ofMillis(500)).untilAsserted(() -> {
+                template.send(UserEventProducer.TOPIC, 0, "a", event("USER_UPDATED", 1L)).get();
+                template.send(UserEventProducer.TOPIC, 1, "b", event("USER_DELETED", 2L)).get();
+                assertNull(cache.get(1L));
+                assertNull(cache.get(2L));
+            });
+        } finally {
+            producerFactory.destroy();
+        }
+
+        verify(userRepository, atLeastOnce()).evictFromSecondLevelCache(List.of(1L));
+        verify(userRepository, atLeastOnce()).evictFromSecondLevelCache(List.of(2L));
+        try (Admin admin = Admin.create(Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG,
+                broker.getBrokersAsString()))) {
+            assertTrue(admin.listConsumerGroups().all().get().isEmpty());
+        }
+    }
+
+    private DefaultKafkaProducerFactory<String, UserEvent> producerFactory() {
+        Map<String, Object> configs = Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class,
+                JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
+        return new DefaultKafkaProducerFactory<>(configs);
+    }
+
+    private static UserEvent event(String type, Long userId) {
+        return new UserEvent(type, "user" + userId + "@example.com", "User", userId, LocalDateTime.now());
+    }
+
+    @Configuration
+    @Import(UserCacheInvalidationListener.class)
+    static class Config {
+
+        // Binds the listener's Duration property the way Spring Boot does
+        @Bean
+        static ConversionService conversionService() {
+            return ApplicationConversionService.getSharedInstance();
+        }
+
+        @Bean
+        ConsumerFactory<String, UserEvent> consumerFactory(EmbeddedKafkaBroker broker) {
+            return new DefaultKafkaConsumerFactory<>(Map.of(
+                    ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                    ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class,
+                    ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class,
+                    JsonDeserializer.VALUE_DEFAULT_TYPE, UserEvent.class.getName(),
+                    JsonDeserializer.TRUSTED_PACKAGES, "org.example.userservice.event"));
+        }
+
+        @Bean
+        ConcurrentKafkaListenerContainerFactory<String, UserEvent> kafkaListenerContainerFactory(
+                ConsumerFactory<String, UserEvent> consumerFactory) {
+            ConcurrentKafkaListenerContainerFactory<String, UserEvent> factory =
+                    new ConcurrentKafkaListenerContainerFactory<>();
+            factory.setConsumerFactory(consumerFactory);
+            return factory;
+        }
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(CacheConfig.USERS_CACHE);
+        }
+    }
+}
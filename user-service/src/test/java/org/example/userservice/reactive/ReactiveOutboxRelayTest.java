@@ -0,0 +1,99 @@
+package org.example.userservice.reactive;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.userservice.config.OutboxProperties;
+import org.example.userservice.dto.UserRequest;
+import org.example.userservice.event.UserEvent;
+import org.example.userservice.messaging.UserEventProducer;
+import org.example.userservice.support.TestPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveOutboxRelayTest {
+
+    @Mock
+    private UserEventProducer userEventProducer;
+
+    private JdbcTemplate jdbcTemplate;
+    private ReactiveUserRepository repository;
+    private ReactiveOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(TestPostgres.dataSource());
+        TestPostgres.truncate();
+        DatabaseClient databaseClient = DatabaseClient.create(TestPostgres.connectionFactory());
+        repository = new ReactiveUserRepository(databaseClient);
+        relay = new ReactiveOutboxRelay(databaseClient, userEventProducer, new OutboxProperties(),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relayBatch_ShouldPublishAndMarkEventsSent() {
+        repository.insertIfEmailAbsent(request("ann@example.com")).block();
+        repository.insertIfEmailAbsent(request("bob@example.com")).block();
+        when(userEventProducer.sendUserEvents(anyList())).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertEquals(2, relay.relayBatch());
+
+        ArgumentCaptor<List<UserEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(userEventProducer).sendUserEvents(events.capture());
+        assertEquals(List.of("ann@example.com", "bob@example.com"),
+                events.getValue().stream().map(UserEvent::getEmail).toList());
+        assertEquals(0, unsent());
+        assertEquals(0, relay.relayBatch());
+    }
+
+    @Test
+    void relayBatch_KafkaFails_LeavesEventsUnsent() {
+        repository.insertIfEmailAbsent(request("ann@example.com")).block();
+        when(userEventProducer.sendUserEvents(anyList()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Broker unavailable")));
+
+        relay.relay();
+
+        assertEquals(1, unsent());
+    }
+
+    @Test
+    void relayBatch_LeaseHeldElsewhere_PublishesNothing() {
+        repository.insertIfEmailAbsent(request("ann@example.com")).block();
+        jdbcTemplate.update("INSERT INTO user_service.outbox_relay_lease (name, owner, expires_at) "
+                + "VALUES (?, 'other-instance', now() + interval '1 minute')", ReactiveOutboxRelay.LEASE_NAME);
+
+        assertEquals(0, relay.relayBatch());
+
+        verifyNoInteractions(userEventProducer);
+        assertEquals(1, unsent());
+    }
+
+    private int unsent() {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM user_service.user_event_outbox WHERE sent_at IS NULL", Integer.class);
+    }
+
+    private static UserRequest request(String email) {
+        UserRequest request = new UserRequest();
+        request.setName("Ann Smith");
+        request.setEmail(email);
+        request.setAge(30);
+        return request;
+    }
+}
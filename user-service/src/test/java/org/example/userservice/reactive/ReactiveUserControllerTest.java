@@ -0,0 +1,122 @@
+package org.example.userservice.reactive;
+
+import org.example.userservice.dto.UserPage;
+import org.example.userservice.dto.UserRequest;
+import org.example.userservice.dto.UserResponse;
+import org.example.userservice.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveUserControllerTest {
+
+    private WebTestClient webTestClient;
+
+    @Mock
+    private ReactiveUserService userService;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = WebTestClient.bindToController(new ReactiveUserController(userService))
+                .controllerAdvice(new ReactiveExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void createUser_ValidRequest_ReturnsCreated() {
+        UserRequest request = new UserRequest();
+        request.setName("John Doe");
+        request.setEmail("john@example.com");
+        request.setAge(25);
+
+        when(userService.createUser(any(UserRequest.class))).thenReturn(Mono.just(user(1L, "John Doe")));
+
+        webTestClient.post().uri("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1)
+                .jsonPath("$.name").isEqualTo("John Doe");
+
+        verify(userService).createUser(any(UserRequest.class));
+    }
+
+    @Test
+    void createUser_InvalidRequest_ReturnsBadRequest() {
+        UserRequest request = new UserRequest();
+        request.setName("");
+        request.setEmail("invalid-email");
+        request.setAge(-5);
+
+        webTestClient.post().uri("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.name").exists()
+                .jsonPath("$.email").exists()
+                .jsonPath("$.age").exists();
+
+        verify(userService, never()).createUser(any());
+    }
+
+    @Test
+    void getUserById_NonExistingId_ReturnsNotFound() {
+        when(userService.getUserById(999L))
+                .thenReturn(Mono.error(new ResourceNotFoundException("User not found")));
+
+        webTestClient.get().uri("/api/users/{id}", 999L)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void getUsers_JsonRequested_ReturnsPageWithNextCursor() {
+        when(userService.getUsers(null, 100))
+                .thenReturn(Mono.just(new UserPage(List.of(user(1L, "John")), 1L)));
+
+        webTestClient.get().uri("/api/users")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Next-Cursor", "1")
+                .expectBody()
+                .jsonPath("$[0].name").isEqualTo("John");
+    }
+
+    @Test
+    void streamUsers_NdjsonRequested_StreamsEveryUser() {
+        when(userService.streamUsers(null)).thenReturn(Flux.just(user(1L, "John"), user(2L, "Jane")));
+
+        webTestClient.get().uri("/api/users")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(UserResponse.class)
+                .hasSize(2);
+    }
+
+    private static UserResponse user(Long id, String name) {
+        UserResponse response = new UserResponse();
+        response.setId(id);
+        response.setName(name);
+        response.setEmail(name.toLowerCase() + "@example.com");
+        return response;
+    }
+}
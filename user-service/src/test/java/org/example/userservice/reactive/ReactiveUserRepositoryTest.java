@@ -0,0 +1,94 @@
+package org.example.userservice.reactive;
+
+import org.example.userservice.dto.UserRequest;
+import org.example.userservice.dto.UserResponse;
+import org.example.userservice.dto.UserUpdateRequest;
+import org.example.userservice.support.TestPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReactiveUserRepositoryTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ReactiveUserRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(TestPostgres.dataSource());
+        TestPostgres.truncate();
+        repository = new ReactiveUserRepository(DatabaseClient.create(TestPostgres.connectionFactory()));
+    }
+
+    @Test
+    void insertIfEmailAbsent_ShouldWriteUserAndEventTogether() {
+        UserResponse user = repository.insertIfEmailAbsent(request("Ann Smith", "ann@example.com")).block();
+
+        assertNotNull(user);
+        assertEquals("ann@example.com", user.getEmail());
+        List<Map<String, Object>> events = events();
+        assertEquals(1, events.size());
+        assertEquals("USER_CREATED", events.get(0).get("event_type"));
+        assertEquals(user.getId(), events.get(0).get("user_id"));
+        assertEquals("Ann Smith", events.get(0).get("user_name"));
+        assertNull(events.get(0).get("sent_at"));
+    }
+
+    @Test
+    void insertIfEmailAbsent_DuplicateEmail_WritesNoEvent() {
+        repository.insertIfEmailAbsent(request("Ann Smith", "ann@example.com")).block();
+
+        UserResponse duplicate = repository.insertIfEmailAbsent(request("Ann Other", "ann@example.com")).block();
+
+        assertNull(duplicate);
+        assertEquals(1, events().size());
+    }
+
+    @Test
+    void updateAndDelete_ShouldWriteEvents() {
+        Long id = repository.insertIfEmailAbsent(request("Ann Smith", "ann@example.com")).block().getId();
+        UserUpdateRequest update = new UserUpdateRequest();
+        update.setName("Ann Jones");
+
+        UserResponse updated = repository.update(id, update).block();
+        UserResponse deleted = repository.deleteById(id).block();
+
+        assertEquals("Ann Jones", updated.getName());
+        assertEquals(id, deleted.getId());
+        List<Map<String, Object>> events = events();
+        assertEquals(List.of("USER_CREATED", "USER_UPDATED", "USER_DELETED"),
+                events.stream().map(event -> event.get("event_type")).toList());
+        assertEquals("Ann Jones", events.get(2).get("user_name"));
+    }
+
+    @Test
+    void updateAndDelete_MissingId_WriteNoEvent() {
+        UserUpdateRequest update = new UserUpdateRequest();
+        update.setName("Nobody");
+
+        assertNull(repository.update(42L, update).block());
+        assertNull(repository.deleteById(42L).block());
+        assertTrue(events().isEmpty());
+    }
+
+    private List<Map<String, Object>> events() {
+        return jdbcTemplate.queryForList("SELECT * FROM user_service.user_event_outbox ORDER BY id");
+    }
+
+    private static UserRequest request(String name, String email) {
+        UserRequest request = new UserRequest();
+        request.setName(name);
+        request.setEmail(email);
+        request.setAge(30);
+        return request;
+    }
+}
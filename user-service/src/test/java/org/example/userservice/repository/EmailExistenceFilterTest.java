@@ -0,0 +1,68 @@
+package org.example.userservice.repository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.userservice.config.EmailFilterProperties;
+import org.example.userservice.support.TestPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmailExistenceFilterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transaction;
+    private EmailExistenceFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = TestPostgres.dataSource();
+        TestPostgres.truncate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transaction = new TransactionTemplate(transactionManager);
+        EmailFilterProperties properties = new EmailFilterProperties();
+        properties.setExpectedInsertions(1_000);
+        filter = new EmailExistenceFilter(
+                new UserJdbcRepository(jdbcTemplate, new NamedParameterJdbcTemplate(jdbcTemplate)),
+                properties, transactionManager, new SimpleMeterRegistry());
+        filter.rebuild();
+    }
+
+    @Test
+    void put_RebuildBeforeCommit_ShouldKeepEmail() {
+        transaction.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO user_service.users (id, name, email, age) "
+                    + "VALUES (1, 'Ann Smith', 'ann@example.com', 30)");
+            filter.put("ann@example.com");
+            // The rebuild's snapshot cannot see the uncommitted row
+            Thread rebuild = new Thread(filter::rebuild);
+            rebuild.start();
+            try {
+                rebuild.join();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertTrue(filter.mightContain("ann@example.com"));
+    }
+
+    @Test
+    void rebuild_ShouldOnlyContainCommittedEmails() {
+        jdbcTemplate.update("INSERT INTO user_service.users (id, name, email, age) "
+                + "VALUES (1, 'Ann Smith', 'ann@example.com', 30)");
+
+        filter.rebuild();
+
+        assertTrue(filter.mightContain("ann@example.com"));
+        assertFalse(filter.mightContain("bob@example.com"));
+    }
+}
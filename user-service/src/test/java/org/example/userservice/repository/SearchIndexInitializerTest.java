@@ -0,0 +1,65 @@
+package org.example.userservice.repository;
+
+import org.example.userservice.support.TestPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SearchIndexInitializerTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private SearchIndexInitializer initializer;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = TestPostgres.dataSource();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        initializer = new SearchIndexInitializer(jdbcTemplate);
+        for (String index : SearchIndexInitializer.INDEXES) {
+            jdbcTemplate.execute("DROP INDEX IF EXISTS user_service." + index);
+        }
+    }
+
+    @Test
+    void ensureIndexes_ShouldBuildMissingIndexesOnlyOnce() {
+        assertEquals(4, initializer.ensureIndexes());
+        assertEquals(4, validIndexes());
+
+        assertEquals(0, initializer.ensureIndexes());
+    }
+
+    @Test
+    void ensureIndexes_ShouldRebuildInvalidIndex() {
+        initializer.ensureIndexes();
+        // What an interrupted CREATE INDEX CONCURRENTLY leaves behind
+        jdbcTemplate.update("UPDATE pg_index SET indisvalid = false "
+                + "WHERE indexrelid = 'user_service.users_age_id_idx'::regclass");
+
+        assertEquals(1, initializer.ensureIndexes());
+        assertEquals(4, validIndexes());
+    }
+
+    @Test
+    void ensureIndexes_ShouldSkipWhileAnotherInstanceHoldsTheLock() throws Exception {
+        try (Connection other = TestPostgres.dataSource().getConnection();
+             Statement statement = other.createStatement()) {
+            statement.execute("SELECT pg_advisory_lock(hashtext('user_service.search_indexes'))");
+
+            assertEquals(0, initializer.ensureIndexes());
+            assertEquals(0, validIndexes());
+        }
+    }
+
+    private int validIndexes() {
+        return jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid
+                WHERE c.relname = ANY (?) AND i.indisvalid
+                """, Integer.class, (Object) SearchIndexInitializer.INDEXES.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,203 @@
+package org.example.userservice.repository;
+
+import org.example.userservice.dto.UserBatchUpdateRequest;
+import org.example.userservice.dto.UserRequest;
+import org.example.userservice.dto.UserResponse;
+import org.example.userservice.dto.UserUpdateRequest;
+import org.example.userservice.support.TestPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserJdbcRepositoryIntegrationTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private UserJdbcRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        TestPostgres.truncate();
+        jdbcTemplate = new JdbcTemplate(TestPostgres.dataSource());
+        repository = new UserJdbcRepository(jdbcTemplate, new NamedParameterJdbcTemplate(jdbcTemplate));
+    }
+
+    @Test
+    void insertAllIfEmailAbsent_SomeEmailsTaken_InsertsTheRestWithDistinctIds() {
+        insertUser(1L, "Ann Smith", "ann@example.com", 30);
+        List<UserRequest> users = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            users.add(userRequest("User " + i, "user" + i + "@example.com"));
+        }
+        users.add(60, userRequest("Ann Other", "ann@example.com"));
+
+        List<UserResponse> inserted = repository.insertAllIfEmailAbsent(users);
+
+        assertEquals(120, inserted.size());
+        assertEquals(120, inserted.stream().map(UserResponse::getId).distinct().count());
+        assertTrue(inserted.stream().noneMatch(user -> user.getEmail().equals("ann@example.com")));
+        assertTrue(inserted.stream().allMatch(user -> user.getVersion() == 0L && user.getCreatedAt() != null));
+        assertEquals(121, jdbcTemplate.queryForObject("SELECT count(*) FROM user_service.users", Integer.class));
+        assertEquals("Ann Smith", jdbcTemplate.queryForObject(
+                "SELECT name FROM user_service.users WHERE email = 'ann@example.com'", String.class));
+    }
+
+    @Test
+    void update_PartialRequest_ChangesOnlyGivenFieldsAndBumpsVersion() {
+        insertUser(1L, "Ann Smith", "ann@example.com", 30);
+        UserUpdateRequest request = new UserUpdateRequest();
+        request.setAge(31);
+
+        UserResponse updated = repository.update(1L, request, null).orElseThrow();
+
+        assertEquals("Ann Smith", updated.getName());
+        assertEquals("ann@example.com", updated.getEmail());
+        assertEquals(31, updated.getAge());
+        assertEquals(1L, updated.getVersion());
+        assertEquals(31, jdbcTemplate.queryForObject(
+                "SELECT age FROM user_service.users WHERE id = 1", Integer.class));
+    }
+
+    @Test
+    void update_MatchingVersion_UpdatesRow() {
+        insertUser(1L, "Ann Smith", "ann@example.com", 30);
+        UserUpdateRequest request = new UserUpdateRequest();
+        request.setName("Ann Jones");
+
+        Optional<UserResponse> updated = repository.update(1L, request, 0L);
+
+        assertTrue(updated.isPresent());
+        assertEquals("Ann Jones", updated.get().getName());
+        assertEquals(1L, updated.get().getVersion());
+    }
+
+    @Test
+    void update_StaleVersion_ReturnsEmptyAndLeavesRowUnchanged() {
+        insertUser(1L, "Ann Smith", "ann@example.com", 30);
+        UserUpdateRequest request = new UserUpdateRequest();
+        request.setName("Ann Jones");
+
+        Optional<UserResponse> updated = repository.update(1L, request, 5L);
+
+        assertTrue(updated.isEmpty());
+        assertEquals(Map.of("name", "Ann Smith", "version", 0L), jdbcTemplate.queryForMap(
+                "SELECT name, version FROM user_service.users WHERE id = 1"));
+    }
+
+    @Test
+    void update_MissingId_ReturnsEmpty() {
+        UserUpdateRequest request = new UserUpdateRequest();
+        request.setName("Ann Jones");
+
+        assertTrue(repository.update(42L, request, null).isEmpty());
+    }
+
+    @Test
+    void update_EmailTakenByAnotherUser_ThrowsDuplicateKeyException() {
+        insertUser(1L, "Ann Smith", "ann@example.com", 30);
+        insertUser(2L, "Bob Brown", "bob@example.com", 40);
+        UserUpdateRequest request = new UserUpdateRequest();
+        request.setEmail("ann@example.com");
+
+        assertThrows(DuplicateKeyException.class, () -> repository.update(2L, request, null));
+    }
+
+    @Test
+    void updateAll_PartialRequests_KeepNullFieldsAndSkipMissingIds() {
+        insertUser(1L, "Ann Smith", "ann@example.com", 30);
+        insertUser(2L, "Bob Brown", "bob@example.com", 40);
+
+        List<UserResponse> updated = repository.updateAll(List.of(
+                batchUpdate(1L, "Ann Jones", null, null),
+                batchUpdate(2L, null, "bobby@example.com", 41),
+                batchUpdate(42L, "Nobody", null, null)));
+
+        assertEquals(2, updated.size());
+        UserResponse ann = updated.stream().filter(u -> u.getId() == 1L).findFirst().orElseThrow();
+        assertEquals("Ann Jones", ann.getName());
+        assertEquals("ann@example.com", ann.getEmail());
+        assertEquals(30, ann.getAge());
+        assertEquals(1L, ann.getVersion());
+        UserResponse bob = updated.stream().filter(u -> u.getId() == 2L).findFirst().orElseThrow();
+        assertEquals("Bob Brown", bob.getName());
+        assertEquals("bobby@example.com", bob.getEmail());
+        assertEquals(41, bob.getAge());
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT count(*) FROM user_service.users", Integer.class));
+    }
+
+    @Test
+    void updateAll_EmailTakenByAnotherUser_ThrowsDuplicateKeyException() {
+        insertUser(1L, "Ann Smith", "ann@example.com", 30);
+        insertUser(2L, "Bob Brown", "bob@example.com", 40);
+
+        assertThrows(DuplicateKeyException.class, () -> repository.updateAll(List.of(
+                batchUpdate(2L, null, "ann@example.com", null))));
+    }
+
+    @Test
+    void deleteById_ExistingId_ReturnsDeletedRow() {
+        insertUser(1L, "Ann Smith", "ann@example.com", 30);
+
+        UserResponse deleted = repository.deleteById(1L).orElseThrow();
+
+        assertEquals(1L, deleted.getId());
+        assertEquals("ann@example.com", deleted.getEmail());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM user_service.users", Integer.class));
+    }
+
+    @Test
+    void deleteById_MissingId_ReturnsEmpty() {
+        insertUser(1L, "Ann Smith", "ann@example.com", 30);
+
+        assertTrue(repository.deleteById(42L).isEmpty());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM user_service.users", Integer.class));
+    }
+
+    @Test
+    void deleteAllById_MixedIds_ReturnsExactlyTheDeletedRows() {
+        insertUser(1L, "Ann Smith", "ann@example.com", 30);
+        insertUser(2L, "Bob Brown", "bob@example.com", 40);
+        insertUser(3L, "Cid Moore", "cid@example.com", 50);
+
+        List<UserResponse> deleted = repository.deleteAllById(List.of(3L, 42L, 1L, 43L));
+
+        assertEquals(Set.of(1L, 3L), deleted.stream().map(UserResponse::getId).collect(Collectors.toSet()));
+        assertEquals(Set.of("ann@example.com", "cid@example.com"),
+                deleted.stream().map(UserResponse::getEmail).collect(Collectors.toSet()));
+        assertEquals(List.of(2L), jdbcTemplate.queryForList("SELECT id FROM user_service.users", Long.class));
+    }
+
+    private void insertUser(long id, String name, String email, int age) {
+        jdbcTemplate.update("INSERT INTO user_service.users (id, name, email, age, created_at) VALUES (?, ?, ?, ?, now())",
+                id, name, email, age);
+    }
+
+    private static UserRequest userRequest(String name, String email) {
+        UserRequest request = new UserRequest();
+        request.setName(name);
+        request.setEmail(email);
+        request.setAge(30);
+        return request;
+    }
+
+    private static UserBatchUpdateRequest batchUpdate(Long id, String name, String email, Integer age) {
+        UserBatchUpdateRequest request = new UserBatchUpdateRequest();
+        request.setId(id);
+        request.setName(name);
+        request.setEmail(email);
+        request.setAge(age);
+        return request;
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.userservice.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.userservice.entity.User;
+import org.example.userservice.support.TestPostgres;
+import org.example.userservice.support.TestPostgresConfig;
+import org.hibernate.StatelessSession;
+import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// No test transaction: the second-level cache is only written when each lookup commits
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TestPostgresConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserNaturalIdRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SessionFactoryImplementor sessionFactory;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        TestPostgres.truncate();
+        sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        // The JCache regions are shared with every other test context in the JVM
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        jdbcTemplate.update("INSERT INTO user_service.users (id, name, email, age, created_at) "
+                + "VALUES (1, 'Ann Smith', 'ann@example.com', 30, now())");
+    }
+
+    @Test
+    void findExistingEmails_KnownEmail_RunsNoSql() {
+        assertEquals(Set.of("ann@example.com"), userRepository.findExistingEmails(List.of("ann@example.com")));
+        assertTrue(isNaturalIdCached("ann@example.com"));
+
+        statistics.clear();
+        Set<String> existing = userRepository.findExistingEmails(List.of("ann@example.com"));
+
+        assertEquals(Set.of("ann@example.com"), existing);
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findExistingEmails_KnownAndUnknownEmails_QueriesOnlyTheUnknownOnes() {
+        userRepository.findExistingEmails(List.of("ann@example.com"));
+
+        statistics.clear();
+        Set<String> existing = userRepository.findExistingEmails(List.of("ann@example.com", "bob@example.com"));
+
+        assertEquals(Set.of("ann@example.com"), existing);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void evictFromSecondLevelCache_UpdatedEmail_EvictsNaturalIdEntry() {
+        userRepository.findExistingEmails(List.of("ann@example.com"));
+
+        jdbcTemplate.update("UPDATE user_service.users SET email = 'ann.new@example.com' WHERE id = 1");
+        userRepository.evictFromSecondLevelCache(List.of(1L));
+
+        assertFalse(isNaturalIdCached("ann@example.com"));
+        assertFalse(sessionFactory.getCache().containsEntity(User.class, 1L));
+        assertEquals(Set.of(), userRepository.findExistingEmails(List.of("ann@example.com")));
+        assertEquals(Set.of("ann.new@example.com"), userRepository.findExistingEmails(List.of("ann.new@example.com")));
+    }
+
+    @Test
+    void evictFromSecondLevelCache_DeletedUser_EvictsNaturalIdEntry() {
+        userRepository.findExistingEmails(List.of("ann@example.com"));
+
+        jdbcTemplate.update("DELETE FROM user_service.users WHERE id = 1");
+        userRepository.evictFromSecondLevelCache(List.of(1L));
+
+        assertFalse(isNaturalIdCached("ann@example.com"));
+        assertFalse(sessionFactory.getCache().containsEntity(User.class, 1L));
+        assertEquals(Set.of(), userRepository.findExistingEmails(List.of("ann@example.com")));
+    }
+
+    private boolean isNaturalIdCached(String email) {
+        EntityPersister persister = sessionFactory.getMappingMetamodel().getEntityDescriptor(User.class);
+        NaturalIdDataAccess cacheAccess = persister.getNaturalIdCacheAccessStrategy();
+        try (StatelessSession statelessSession = sessionFactory.openStatelessSession()) {
+            SharedSessionContractImplementor session = (SharedSessionContractImplementor) statelessSession;
+            return cacheAccess.get(session, cacheAccess.generateCacheKey(email, persister, session)) != null;
+        }
+    }
+}
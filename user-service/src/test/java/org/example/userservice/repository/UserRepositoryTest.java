@@ -0,0 +1,104 @@
+package org.example.userservice.repository;
+
+import org.example.userservice.dto.UserResponse;
+import org.example.userservice.entity.User;
+import org.example.userservice.support.TestPostgres;
+import org.example.userservice.support.TestPostgresConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TestPostgresConfig.class)
+class UserRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        TestPostgres.truncate();
+    }
+
+    @Test
+    void insertIfEmailAbsent_NewEmail_ReturnsInsertedRow() {
+        Optional<User> inserted = userRepository.insertIfEmailAbsent("Ann Smith", "ann@example.com", 30);
+
+        assertTrue(inserted.isPresent());
+        User user = inserted.get();
+        assertNotNull(user.getId());
+        assertEquals("Ann Smith", user.getName());
+        assertEquals("ann@example.com", user.getEmail());
+        assertEquals(30, user.getAge());
+        assertNotNull(user.getCreatedAt());
+        assertNotNull(user.getUpdatedAt());
+        assertEquals(0L, user.getVersion());
+        assertEquals("ann@example.com", jdbcTemplate.queryForObject(
+                "SELECT email FROM user_service.users WHERE id = ?", String.class, user.getId()));
+    }
+
+    @Test
+    void insertIfEmailAbsent_DuplicateEmail_ReturnsEmptyAndKeepsExistingRow() {
+        User first = userRepository.insertIfEmailAbsent("Ann Smith", "ann@example.com", 30).orElseThrow();
+
+        Optional<User> duplicate = userRepository.insertIfEmailAbsent("Ann Other", "ann@example.com", 40);
+
+        assertTrue(duplicate.isEmpty());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM user_service.users", Integer.class));
+        assertEquals("Ann Smith", jdbcTemplate.queryForObject(
+                "SELECT name FROM user_service.users WHERE id = ?", String.class, first.getId()));
+    }
+
+    @Test
+    void findResponseById_ExistingUser_ReturnsProjection() {
+        User user = userRepository.insertIfEmailAbsent("Ann Smith", "ann@example.com", 30).orElseThrow();
+
+        UserResponse response = userRepository.findResponseById(user.getId()).orElseThrow();
+
+        assertEquals(user.getId(), response.getId());
+        assertEquals("Ann Smith", response.getName());
+        assertEquals("ann@example.com", response.getEmail());
+        assertEquals(30, response.getAge());
+        assertEquals(user.getCreatedAt(), response.getCreatedAt());
+        assertEquals(user.getUpdatedAt(), response.getUpdatedAt());
+        assertEquals(0L, response.getVersion());
+    }
+
+    @Test
+    void findResponseById_MissingUser_ReturnsEmpty() {
+        assertTrue(userRepository.findResponseById(42L).isEmpty());
+    }
+
+    @Test
+    void findResponsesAfter_Cursor_ReturnsNextUsersInIdOrder() {
+        List<Long> ids = List.of(
+                userRepository.insertIfEmailAbsent("Ann", "ann@example.com", 30).orElseThrow().getId(),
+                userRepository.insertIfEmailAbsent("Bob", "bob@example.com", 31).orElseThrow().getId(),
+                userRepository.insertIfEmailAbsent("Cid", "cid@example.com", 32).orElseThrow().getId(),
+                userRepository.insertIfEmailAbsent("Dan", "dan@example.com", 33).orElseThrow().getId());
+
+        List<UserResponse> page = userRepository.findResponsesAfter(ids.get(0), Limit.of(2));
+
+        assertEquals(List.of(ids.get(1), ids.get(2)), page.stream().map(UserResponse::getId).toList());
+        assertEquals("Bob", page.get(0).getName());
+        assertEquals("cid@example.com", page.get(1).getEmail());
+        assertEquals(32, page.get(1).getAge());
+        assertTrue(userRepository.findResponsesAfter(ids.get(3), Limit.of(2)).isEmpty());
+    }
+}
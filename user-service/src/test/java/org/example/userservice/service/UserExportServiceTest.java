@@ -0,0 +1,112 @@
+package org.example.userservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.example.userservice.dto.UserDataFormat;
+import org.example.userservice.repository.UserJdbcRepository;
+import org.example.userservice.support.TestPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserExportServiceTest {
+
+    private static final int FETCH_SIZE = 2;
+
+    // Configured like Spring Boot's ObjectMapper
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    private UserExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = TestPostgres.dataSource();
+        TestPostgres.truncate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readOnlyTransaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnlyTransaction.setReadOnly(true);
+        UserJdbcRepository repository = new UserJdbcRepository(jdbcTemplate, new NamedParameterJdbcTemplate(jdbcTemplate));
+        exportService = new UserExportServiceImpl(repository, objectMapper, FETCH_SIZE);
+    }
+
+    @Test
+    void exportUsers_Ndjson_ShouldWriteOneObjectPerLineAcrossFetches() throws Exception {
+        for (long id = 1; id <= 5; id++) {
+            insertUser(id, "User " + id, "user" + id + "@example.com", 20 + (int) id);
+        }
+
+        String output = export(UserDataFormat.NDJSON);
+
+        assertTrue(output.endsWith("\n"));
+        String[] lines = output.split("\n");
+        assertEquals(5, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            JsonNode user = objectMapper.readTree(lines[i]);
+            assertEquals(i + 1, user.get("id").asLong());
+            assertEquals("user" + (i + 1) + "@example.com", user.get("email").asText());
+            assertTrue(user.get("createdAt").isTextual());
+            assertFalse(user.has("version"));
+            assertFalse(user.has("updatedAt"));
+        }
+    }
+
+    @Test
+    void exportUsers_Csv_ShouldQuoteSpecialCharacters() throws Exception {
+        insertUser(1L, "O'Brien, \"Junior\"", "junior@example.com", 30);
+        insertUser(2L, "Line\nBreak", "break@example.com", 40);
+        insertUser(3L, "Plain", "plain@example.com", 50);
+
+        String output = export(UserDataFormat.CSV);
+
+        assertTrue(output.startsWith("id,name,email,age,createdAt\n"));
+        assertTrue(output.contains("\"O'Brien, \"\"Junior\"\"\""));
+        try (MappingIterator<Map<String, String>> rows = new CsvMapper()
+                .readerForMapOf(String.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .readValues(output)) {
+            List<Map<String, String>> users = rows.readAll();
+            assertEquals(3, users.size());
+            assertEquals("O'Brien, \"Junior\"", users.get(0).get("name"));
+            assertEquals("Line\nBreak", users.get(1).get("name"));
+            assertEquals("50", users.get(2).get("age"));
+        }
+    }
+
+    @Test
+    void exportUsers_EmptyTable_ShouldWriteOnlyCsvHeader() {
+        assertEquals("", export(UserDataFormat.NDJSON));
+        assertEquals("id,name,email,age,createdAt\n", export(UserDataFormat.CSV));
+    }
+
+    private String export(UserDataFormat format) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        readOnlyTransaction.executeWithoutResult(status -> exportService.exportUsers(format, out));
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private void insertUser(Long id, String name, String email, int age) {
+        jdbcTemplate.update("INSERT INTO user_service.users (id, name, email, age) VALUES (?, ?, ?, ?)",
+                id, name, email, age);
+    }
+}
@@ -0,0 +1,143 @@
+package org.example.userservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.example.userservice.dto.UserDataFormat;
+import org.example.userservice.dto.UserImportReport;
+import org.example.userservice.exception.InvalidImportException;
+import org.example.userservice.repository.EmailExistenceFilter;
+import org.example.userservice.repository.UserJdbcRepository;
+import org.example.userservice.support.TestPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceTest {
+
+    @Mock
+    private EmailExistenceFilter emailFilter;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transaction;
+    private UserImportServiceImpl importService;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = TestPostgres.dataSource();
+        TestPostgres.truncate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        UserJdbcRepository repository = new UserJdbcRepository(jdbcTemplate, new NamedParameterJdbcTemplate(jdbcTemplate));
+        importService = new UserImportServiceImpl(repository, emailFilter,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper());
+    }
+
+    @Test
+    void importUsers_Csv_ShouldSkipInvalidRowsAndDuplicates() {
+        jdbcTemplate.update("INSERT INTO user_service.users (id, name, email, age) VALUES (1, 'Existing', 'taken@example.com', 40)");
+        String csv = """
+                name,email,age
+                Ann Smith,ann@example.com,30
+                Bob Jones,taken@example.com,31
+                Ann Again,ann@example.com,32
+                X,short@example.com,33
+                Carl White,not-an-email,34
+                Dora Black,dora@example.com,abc
+                Eve Green,eve@example.com,35
+                """;
+
+        UserImportReport report = importUsers(UserDataFormat.CSV, csv, false);
+
+        assertEquals(7, report.getReceived());
+        assertEquals(3, report.getInvalid());
+        assertEquals(2, report.getDuplicates());
+        assertEquals(2, report.getImported());
+        assertEquals(0, report.getEventsQueued());
+        assertEquals(3, report.getErrors().size());
+        assertTrue(report.getErrors().get(0).startsWith("Record 4: name:"));
+        assertTrue(report.getErrors().get(2).startsWith("Record 6:"));
+
+        Map<String, String> names = jdbcTemplate.queryForList("SELECT email, name FROM user_service.users").stream()
+                .collect(Collectors.toMap(row -> (String) row.get("email"), row -> (String) row.get("name")));
+        assertEquals(Map.of(
+                "taken@example.com", "Existing",
+                "ann@example.com", "Ann Smith",
+                "eve@example.com", "Eve Green"), names);
+        assertEquals(0, count("user_service.user_event_outbox"));
+        verify(emailFilter).put("eve@example.com");
+    }
+
+    @Test
+    void importUsers_WithEvents_ShouldQueueOneOutboxRowPerImportedUser() {
+        String ndjson = IntStream.range(0, 120)
+                .mapToObj(i -> "{\"name\":\"User " + i + "\",\"email\":\"user" + i + "@example.com\",\"age\":30}")
+                .collect(Collectors.joining("\n"));
+
+        UserImportReport report = importUsers(UserDataFormat.NDJSON, ndjson, true);
+
+        assertEquals(120, report.getImported());
+        assertEquals(120, report.getEventsQueued());
+        List<Map<String, Object>> events = jdbcTemplate.queryForList("""
+                SELECT e.event_type, e.user_id, u.id
+                FROM user_service.user_event_outbox e
+                LEFT JOIN user_service.users u ON u.id = e.user_id AND u.email = e.email
+                """);
+        assertEquals(120, events.size());
+        assertTrue(events.stream().allMatch(event ->
+                "USER_CREATED".equals(event.get("event_type")) && event.get("id") != null));
+    }
+
+    @Test
+    void importUsers_ShouldTakeIdsInBlocksThatThePooledGeneratorSkips() {
+        String ndjson = IntStream.range(0, 120)
+                .mapToObj(i -> "{\"name\":\"User " + i + "\",\"email\":\"block" + i + "@example.com\",\"age\":30}")
+                .collect(Collectors.joining("\n"));
+
+        importUsers(UserDataFormat.NDJSON, ndjson, false);
+
+        assertEquals(120, jdbcTemplate.queryForObject("SELECT count(DISTINCT id) FROM user_service.users", Long.class));
+        // The next block the JPA pooled optimizer takes is [hi - 49, hi]
+        Long maxId = jdbcTemplate.queryForObject("SELECT max(id) FROM user_service.users", Long.class);
+        Long nextHi = jdbcTemplate.queryForObject("SELECT nextval('user_service.users_seq')", Long.class);
+        assertTrue(nextHi - 49 > maxId, "next block starts at " + (nextHi - 49) + ", max id " + maxId);
+    }
+
+    @Test
+    void importUsers_MalformedInput_ShouldRollBackEverything() {
+        String ndjson = "{\"name\":\"Ann Smith\",\"email\":\"ann@example.com\",\"age\":30}\n{\"name\": ";
+
+        assertThrows(InvalidImportException.class, () -> importUsers(UserDataFormat.NDJSON, ndjson, true));
+
+        assertEquals(0, count("user_service.users"));
+        assertEquals(0, count("user_service.user_event_outbox"));
+    }
+
+    private UserImportReport importUsers(UserDataFormat format, String body, boolean events) {
+        return transaction.execute(status -> importService.importUsers(format,
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), events));
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class);
+    }
+}
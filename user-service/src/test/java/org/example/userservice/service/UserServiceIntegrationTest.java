@@ -0,0 +1,171 @@
+package org.example.userservice.service;
+
+import jakarta.validation.Validator;
+import org.example.userservice.dto.BatchItemStatus;
+import org.example.userservice.dto.UserBatchItemResult;
+import org.example.userservice.dto.UserRequest;
+import org.example.userservice.dto.UserResponse;
+import org.example.userservice.dto.UserSearchCriteria;
+import org.example.userservice.dto.UserSearchPage;
+import org.example.userservice.dto.UserSearchSort;
+import org.example.userservice.messaging.UserEventOutbox;
+import org.example.userservice.repository.EmailExistenceFilter;
+import org.example.userservice.repository.UserJdbcRepository;
+import org.example.userservice.repository.UserRepository;
+import org.example.userservice.support.TestPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceIntegrationTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private EmailExistenceFilter emailFilter;
+    private UserEventOutbox userEventOutbox;
+    private UserServiceImpl userService;
+
+    @BeforeEach
+    void setUp() {
+        TestPostgres.truncate();
+        jdbcTemplate = new JdbcTemplate(TestPostgres.dataSource());
+        emailFilter = mock(EmailExistenceFilter.class);
+        userEventOutbox = mock(UserEventOutbox.class);
+        userService = new UserServiceImpl(
+                mock(UserRepository.class),
+                new UserJdbcRepository(jdbcTemplate, new NamedParameterJdbcTemplate(jdbcTemplate)),
+                mock(UserMapper.class),
+                userEventOutbox,
+                emailFilter,
+                mock(CacheManager.class),
+                mock(Validator.class));
+
+        // Duplicate lower-case names force the id tie-break; '|' checks the cursor separator
+        insertUser(1L, "alice", 30);
+        insertUser(2L, "Bob", 25);
+        insertUser(3L, "ALICE", 30);
+        insertUser(4L, "ann|marie", 41);
+        insertUser(5L, "adam", 25);
+        insertUser(6L, "Alice", 19);
+        insertUser(7L, "bob_x", 30);
+        insertUser(8L, "Zed", 25);
+        insertUser(9L, "ANN|MARIE", 41);
+    }
+
+    @Test
+    void searchUsers_NameSortAscending_PagesWithoutGapsOrRepeats() {
+        List<UserResponse> rows = readAllPages(UserSearchSort.NAME, Sort.Direction.ASC, 2);
+
+        assertEquals(List.of(5L, 1L, 3L, 6L, 4L, 9L, 2L, 7L, 8L), ids(rows));
+        assertEquals(expectedByName(false), ids(rows));
+    }
+
+    @Test
+    void searchUsers_NameSortDescending_PagesWithoutGapsOrRepeats() {
+        List<UserResponse> rows = readAllPages(UserSearchSort.NAME, Sort.Direction.DESC, 2);
+
+        assertEquals(expectedByName(true), ids(rows));
+    }
+
+    @Test
+    void searchUsers_AgeSort_PagesThroughTiesById() {
+        List<UserResponse> rows = readAllPages(UserSearchSort.AGE, Sort.Direction.ASC, 3);
+
+        assertEquals(List.of(6L, 2L, 5L, 8L, 1L, 3L, 7L, 4L, 9L), ids(rows));
+    }
+
+    @Test
+    void createUsers_EmailMissingFromFilter_ReportsConflictPerItem() {
+        // A stale filter rules out every email, including one that is already taken
+        when(emailFilter.mightContain(anyString())).thenReturn(false);
+
+        List<UserBatchItemResult> results = userService.createUsers(List.of(
+                userRequest("New One", "new1@example.com"),
+                userRequest("Taken", "user1@example.com"),
+                userRequest("New Two", "new2@example.com")));
+
+        assertEquals(List.of(BatchItemStatus.CREATED, BatchItemStatus.CONFLICT, BatchItemStatus.CREATED),
+                results.stream().map(UserBatchItemResult::getStatus).toList());
+        assertEquals("User with email user1@example.com already exists", results.get(1).getMessage());
+        assertEquals("new1@example.com", results.get(0).getUser().getEmail());
+        assertEquals(Map.of("name", "New Two", "age", 35), jdbcTemplate.queryForMap(
+                "SELECT name, age FROM user_service.users WHERE id = ?", results.get(2).getUser().getId()));
+        assertEquals("alice", jdbcTemplate.queryForObject(
+                "SELECT name FROM user_service.users WHERE email = 'user1@example.com'", String.class));
+        verify(emailFilter).put("user1@example.com");
+        verify(userEventOutbox).appendAll(argThat(events -> events.size() == 2));
+    }
+
+    private List<UserResponse> readAllPages(UserSearchSort sort, Sort.Direction direction, int limit) {
+        List<UserResponse> rows = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        String cursor = null;
+        do {
+            UserSearchCriteria criteria = new UserSearchCriteria();
+            criteria.setSort(sort);
+            criteria.setDirection(direction);
+            criteria.setLimit(limit);
+            criteria.setCursor(cursor);
+
+            UserSearchPage page = userService.searchUsers(criteria);
+
+            assertTrue(page.getContent().size() <= limit);
+            page.getContent().forEach(user -> assertTrue(seen.add(user.getId()), "repeated id " + user.getId()));
+            rows.addAll(page.getContent());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return rows;
+    }
+
+    // lower(name) COLLATE "C" compares bytes, which for ASCII is String.compareTo on the lower-cased name
+    private List<Long> expectedByName(boolean descending) {
+        Comparator<UserResponse> order = Comparator
+                .comparing((UserResponse user) -> user.getName().toLowerCase(Locale.ROOT))
+                .thenComparing(UserResponse::getId);
+        List<UserResponse> all = new ArrayList<>(jdbcTemplate.query(
+                "SELECT id, name FROM user_service.users",
+                (rs, rowNum) -> {
+                    UserResponse user = new UserResponse();
+                    user.setId(rs.getLong("id"));
+                    user.setName(rs.getString("name"));
+                    return user;
+                }));
+        all.sort(descending ? order.reversed() : order);
+        return ids(all);
+    }
+
+    private void insertUser(long id, String name, int age) {
+        jdbcTemplate.update("INSERT INTO user_service.users (id, name, email, age, created_at) VALUES (?, ?, ?, ?, now())",
+                id, name, "user" + id + "@example.com", age);
+    }
+
+    private static UserRequest userRequest(String name, String email) {
+        UserRequest request = new UserRequest();
+        request.setName(name);
+        request.setEmail(email);
+        request.setAge(35);
+        return request;
+    }
+
+    private static List<Long> ids(List<UserResponse> users) {
+        return users.stream().map(UserResponse::getId).toList();
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.userservice.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.Validator;
+import org.example.userservice.dto.UserResponse;
+import org.example.userservice.messaging.UserEventOutbox;
+import org.example.userservice.repository.EmailExistenceFilter;
+import org.example.userservice.repository.UserJdbcRepository;
+import org.example.userservice.repository.UserRepository;
+import org.example.userservice.support.TestPostgres;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAspectsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.prometheus.PrometheusMetricsExportAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.jdbc.DataSourcePoolMetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.observation.ObservationAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserServiceMetricsTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(
+                    AopAutoConfiguration.class,
+                    ObservationAutoConfiguration.class,
+                    MetricsAutoConfiguration.class,
+                    MetricsAspectsAutoConfiguration.class,
+                    PrometheusMetricsExportAutoConfiguration.class,
+                    CompositeMeterRegistryAutoConfiguration.class,
+                    DataSourceAutoConfiguration.class,
+                    DataSourcePoolMetricsAutoConfiguration.class))
+            .withPropertyValues(
+                    "spring.datasource.url=" + TestPostgres.jdbcUrl(),
+                    "spring.datasource.username=postgres",
+                    "spring.datasource.password=postgres",
+                    "management.observations.annotations.enabled=true",
+                    "management.metrics.distribution.percentiles-histogram.hikaricp.connections=true")
+            .withBean(UserRepository.class, () -> mock(UserRepository.class))
+            .withBean(UserJdbcRepository.class, () -> mock(UserJdbcRepository.class))
+            .withBean(UserMapper.class, () -> mock(UserMapper.class))
+            .withBean(UserEventOutbox.class, () -> mock(UserEventOutbox.class))
+            .withBean(EmailExistenceFilter.class, () -> mock(EmailExistenceFilter.class))
+            .withBean(CacheManager.class, () -> mock(CacheManager.class))
+            .withBean(Validator.class, () -> mock(Validator.class))
+            .withBean(UserServiceImpl.class);
+
+    @Test
+    void userServiceMethods_ShouldRecordTimerWithHistogram() {
+        contextRunner.run(context -> {
+            UserResponse response = new UserResponse();
+            response.setId(1L);
+            when(context.getBean(UserRepository.class).findResponseById(1L)).thenReturn(Optional.of(response));
+
+            context.getBean(UserService.class).getUserById(1L);
+
+            Timer timer = context.getBean(MeterRegistry.class).find("user.service")
+                    .tag("class", UserServiceImpl.class.getName())
+                    .tag("method", "getUserById")
+                    .timer();
+            assertNotNull(timer);
+            assertEquals(1, timer.count());
+            assertTrue(timer.takeSnapshot().histogramCounts().length > 0);
+        });
+    }
+
+    @Test
+    void connectionPool_ShouldRegisterGaugesAndAcquireTimer() {
+        contextRunner.run(context -> {
+            new JdbcTemplate(context.getBean(DataSource.class)).queryForObject("SELECT 1", Integer.class);
+
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            assertNotNull(registry.find("hikaricp.connections").gauge());
+            assertNotNull(registry.find("hikaricp.connections.active").gauge());
+            assertNotNull(registry.find("hikaricp.connections.max").gauge());
+            Timer acquire = registry.find("hikaricp.connections.acquire").timer();
+            assertNotNull(acquire);
+            assertTrue(acquire.takeSnapshot().histogramCounts().length > 0);
+        });
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.userservice.support;
+
+import io.r2dbc.postgresql.PostgresqlConnectionConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import io.r2dbc.spi.ConnectionFactory;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * One embedded PostgreSQL per test JVM with the production schema from 01-init-tables.sql.
+ */
+public final class TestPostgres {
+
+    private static EmbeddedPostgres postgres;
+
+    private TestPostgres() {
+    }
+
+    public static synchronized DataSource dataSource() {
+        if (postgres == null) {
+            try {
+                postgres = EmbeddedPostgres.start();
+                try (Connection connection = postgres.getPostgresDatabase().getConnection()) {
+                    ScriptUtils.executeSqlScript(connection, new ClassPathResource("01-init-tables.sql"));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Failed to create the test schema", e);
+            }
+        }
+        return postgres.getPostgresDatabase();
+    }
+
+    public static String jdbcUrl() {
+        dataSource();
+        return postgres.getJdbcUrl("postgres", "postgres");
+    }
+
+    public static ConnectionFactory connectionFactory() {
+        dataSource();
+        return new PostgresqlConnectionFactory(PostgresqlConnectionConfiguration.builder()
+                .host("localhost")
+                .port(postgres.getPort())
+                .username("postgres")
+                .database("postgres")
+                .build());
+    }
+
+    public static void truncate() {
+        new JdbcTemplate(dataSource()).execute(
+                "TRUNCATE user_service.users, user_service.user_event_outbox, user_service.outbox_relay_lease");
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.userservice.support;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Points a Spring test slice at {@link TestPostgres}; pair it with
+ * {@code @AutoConfigureTestDatabase(replace = NONE)}.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class TestPostgresConfig {
+
+    @Bean
+    public DataSource dataSource() {
+        return TestPostgres.dataSource();
+    }
+}